@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.action.popup;
+
+import java.awt.event.ActionEvent;
+import java.util.ResourceBundle;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.AbstractAction;
+import javax.swing.Action;
+import org.exbin.framework.utils.ActionUtils;
+import org.exbin.framework.utils.ClipboardActionsHandler;
+import org.exbin.framework.utils.ClipboardActionsHandlerEmpty;
+import org.exbin.framework.utils.ClipboardActionsUpdater;
+import org.exbin.framework.utils.LanguageUtils;
+
+/**
+ * Clipboard actions performed on current clipboard handler.
+ * <p>
+ * Actions are created once and shared, their enablement is updated when
+ * handler is changed or reports change of its state.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DefaultClipboardActions implements ClipboardActionsUpdater {
+
+    private final ResourceBundle resourceBundle = LanguageUtils.getResourceBundleByClass(DefaultPopupMenu.class);
+
+    private final ClipboardAction cutAction;
+    private final ClipboardAction copyAction;
+    private final ClipboardAction pasteAction;
+    private final ClipboardAction deleteAction;
+    private final ClipboardAction selectAllAction;
+    private ClipboardActionsHandler clipboardHandler = new ClipboardActionsHandlerEmpty();
+
+    public DefaultClipboardActions() {
+        cutAction = new ClipboardAction(DefaultPopupMenu.POPUP_CUT_ACTION_ID) {
+            @Override
+            protected void performAction(ClipboardActionsHandler handler) {
+                handler.performCut();
+            }
+
+            @Override
+            protected boolean isEnabledFor(ClipboardActionsHandler handler) {
+                return handler.isEditable() && handler.isSelection();
+            }
+        };
+        cutAction.putValue(Action.ACCELERATOR_KEY, javax.swing.KeyStroke.getKeyStroke(java.awt.event.KeyEvent.VK_X, ActionUtils.getMetaMask()));
+
+        copyAction = new ClipboardAction(DefaultPopupMenu.POPUP_COPY_ACTION_ID) {
+            @Override
+            protected void performAction(ClipboardActionsHandler handler) {
+                handler.performCopy();
+            }
+
+            @Override
+            protected boolean isEnabledFor(ClipboardActionsHandler handler) {
+                return handler.isSelection();
+            }
+        };
+        copyAction.putValue(Action.ACCELERATOR_KEY, javax.swing.KeyStroke.getKeyStroke(java.awt.event.KeyEvent.VK_C, ActionUtils.getMetaMask()));
+
+        pasteAction = new ClipboardAction(DefaultPopupMenu.POPUP_PASTE_ACTION_ID) {
+            @Override
+            protected void performAction(ClipboardActionsHandler handler) {
+                handler.performPaste();
+            }
+
+            @Override
+            protected boolean isEnabledFor(ClipboardActionsHandler handler) {
+                return handler.isEditable() && handler.canPaste();
+            }
+        };
+        pasteAction.putValue(Action.ACCELERATOR_KEY, javax.swing.KeyStroke.getKeyStroke(java.awt.event.KeyEvent.VK_V, ActionUtils.getMetaMask()));
+
+        deleteAction = new ClipboardAction(DefaultPopupMenu.POPUP_DELETE_ACTION_ID) {
+            @Override
+            protected void performAction(ClipboardActionsHandler handler) {
+                handler.performDelete();
+            }
+
+            @Override
+            protected boolean isEnabledFor(ClipboardActionsHandler handler) {
+                return handler.canDelete() && handler.isSelection();
+            }
+        };
+        deleteAction.putValue(Action.ACCELERATOR_KEY, javax.swing.KeyStroke.getKeyStroke(java.awt.event.KeyEvent.VK_DELETE, 0));
+
+        selectAllAction = new ClipboardAction(DefaultPopupMenu.POPUP_SELECT_ALL_ACTION_ID) {
+            @Override
+            protected void performAction(ClipboardActionsHandler handler) {
+                handler.performSelectAll();
+            }
+
+            @Override
+            protected boolean isEnabledFor(ClipboardActionsHandler handler) {
+                return handler.canSelectAll();
+            }
+        };
+        selectAllAction.putValue(Action.ACCELERATOR_KEY, javax.swing.KeyStroke.getKeyStroke(java.awt.event.KeyEvent.VK_A, ActionUtils.getMetaMask()));
+
+        updateClipboardActions();
+    }
+
+    @Nonnull
+    @Override
+    public Action createCutAction() {
+        return cutAction;
+    }
+
+    @Nonnull
+    @Override
+    public Action createCopyAction() {
+        return copyAction;
+    }
+
+    @Nonnull
+    @Override
+    public Action createPasteAction() {
+        return pasteAction;
+    }
+
+    @Nonnull
+    @Override
+    public Action createDeleteAction() {
+        return deleteAction;
+    }
+
+    @Nonnull
+    @Override
+    public Action createSelectAllAction() {
+        return selectAllAction;
+    }
+
+    @Override
+    public void updateClipboardActions() {
+        cutAction.update();
+        copyAction.update();
+        pasteAction.update();
+        deleteAction.update();
+        selectAllAction.update();
+    }
+
+    @Override
+    public void setClipboardActionsHandler(ClipboardActionsHandler clipboardHandler) {
+        this.clipboardHandler = clipboardHandler;
+        updateClipboardActions();
+    }
+
+    /**
+     * Action performed on current clipboard handler.
+     */
+    @ParametersAreNonnullByDefault
+    private abstract class ClipboardAction extends AbstractAction {
+
+        public ClipboardAction(String actionId) {
+            ActionUtils.setupAction(this, resourceBundle, DefaultPopupMenu.class, actionId);
+        }
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            if (isEnabledFor(clipboardHandler)) {
+                performAction(clipboardHandler);
+            }
+        }
+
+        protected abstract void performAction(ClipboardActionsHandler handler);
+
+        protected abstract boolean isEnabledFor(ClipboardActionsHandler handler);
+
+        public void update() {
+            setEnabled(isEnabledFor(clipboardHandler));
+        }
+    }
+}
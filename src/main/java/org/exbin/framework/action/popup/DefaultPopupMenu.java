@@ -26,6 +26,9 @@ import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
@@ -45,6 +48,8 @@ import javax.swing.JViewport;
 import javax.swing.MenuSelectionManager;
 import javax.swing.SwingUtilities;
 import javax.swing.TransferHandler;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultEditorKit;
 import javax.swing.text.JTextComponent;
@@ -54,6 +59,8 @@ import org.exbin.framework.action.popup.handler.TablePopupHandler;
 import org.exbin.framework.action.popup.handler.TextComponentPopupHandler;
 import org.exbin.framework.utils.ActionUtils;
 import org.exbin.framework.utils.ClipboardActionsHandler;
+import org.exbin.framework.utils.ClipboardActionsHandlerEmpty;
+import org.exbin.framework.utils.ClipboardActionsUpdater;
 import org.exbin.framework.utils.ComponentPopupEventDispatcher;
 import org.exbin.framework.utils.LanguageUtils;
 import org.exbin.framework.utils.UiUtils;
@@ -75,6 +82,8 @@ public class DefaultPopupMenu {
     public static final String POPUP_COPY_TEXT_ACTION_ID = "popupCopyTextAction";
     public static final String POPUP_COPY_LINK_ACTION_ID = "popupCopyLinkAction";
     public static final String POPUP_COPY_IMAGE_ACTION_ID = "popupCopyImageAction";
+    public static final String POPUP_COPY_ALL_LINKS_ACTION_ID = "popupCopyAllLinksAction";
+    public static final String POPUP_COPY_ALL_IMAGES_ACTION_ID = "popupCopyAllImagesAction";
     public static final String POPUP_CUT_ACTION_ID = "popupCutAction";
     public static final String POPUP_PASTE_ACTION_ID = "popupPasteAction";
     public static final String POPUP_DELETE_ACTION_ID = "popupDeleteAction";
@@ -84,6 +93,11 @@ public class DefaultPopupMenu {
     public static final String POPUP_COPY_LINK_ACTION_NAME = "copy-link";
     public static final String POPUP_COPY_IMAGE_ACTION_NAME = "copy-image";
     public static final String POPUP_OPEN_LINK_ACTION_NAME = "open-link";
+    public static final String POPUP_COPY_ALL_LINKS_ACTION_NAME = "copy-all-links";
+    public static final String POPUP_COPY_ALL_IMAGES_ACTION_NAME = "copy-all-images";
+
+    protected static final String POPUP_CONTEXT_PROPERTY = "defaultPopupContext";
+    protected static final String PERMANENT_FOCUS_OWNER_PROPERTY = "permanentFocusOwner";
 
     protected ActionMap defaultTextActionMap;
     protected DefaultPopupClipboardAction[] defaultTextActions;
@@ -96,8 +110,14 @@ public class DefaultPopupMenu {
     protected DefaultPopupClipboardAction copyLinkAction;
     protected DefaultPopupClipboardAction openLinkAction;
     protected DefaultPopupClipboardAction copyImageAction;
+    protected DefaultPopupClipboardAction copyAllLinksAction;
+    protected DefaultPopupClipboardAction copyAllImagesAction;
+    protected DefaultPopupClipboardAction[] popupActions;
 
     protected final List<ComponentPopupEventDispatcher> clipboardEventDispatchers = new ArrayList<>();
+    private final PropertyChangeListener focusOwnerListener = this::focusOwnerChanged;
+    private ClipboardActionsUpdater clipboardActionsUpdater = null;
+    private ClipboardActionsHandler focusedClipboardHandler = null;
 
     private static DefaultPopupMenu instance = null;
 
@@ -134,6 +154,79 @@ public class DefaultPopupMenu {
         defaultPopupMenu.registerToEventQueue();
     }
 
+    /**
+     * Sets updater of clipboard actions which is kept current with clipboard
+     * handler of focused component.
+     * <p>
+     * Handler of focused component reports changes of its selection and
+     * content, so updater doesn't need to poll.
+     *
+     * @param clipboardActionsUpdater updater or null to stop tracking of focus
+     */
+    public void setClipboardActionsUpdater(@Nullable ClipboardActionsUpdater clipboardActionsUpdater) {
+        KeyboardFocusManager focusManager = KeyboardFocusManager.getCurrentKeyboardFocusManager();
+        if (this.clipboardActionsUpdater != null) {
+            focusManager.removePropertyChangeListener(PERMANENT_FOCUS_OWNER_PROPERTY, focusOwnerListener);
+            detachFocusedClipboardHandler();
+        }
+
+        this.clipboardActionsUpdater = clipboardActionsUpdater;
+        if (clipboardActionsUpdater != null) {
+            focusManager.addPropertyChangeListener(PERMANENT_FOCUS_OWNER_PROPERTY, focusOwnerListener);
+            attachFocusedClipboardHandler(focusManager.getPermanentFocusOwner());
+        }
+    }
+
+    @Nullable
+    public ClipboardActionsUpdater getClipboardActionsUpdater() {
+        return clipboardActionsUpdater;
+    }
+
+    /**
+     * Creates clipboard handler for given component.
+     *
+     * @param component component
+     * @return clipboard handler or null if component is not supported
+     */
+    @Nullable
+    public ClipboardActionsHandler createClipboardHandler(Component component) {
+        if (component instanceof JEditorPane) {
+            return new EditorPanePopupHandler((JEditorPane) component);
+        } else if (component instanceof JTextComponent) {
+            return new TextComponentPopupHandler((JTextComponent) component);
+        } else if (component instanceof JList) {
+            return new ListPopupHandler((JList<?>) component);
+        } else if (component instanceof JTable) {
+            return new TablePopupHandler((JTable) component);
+        }
+
+        return null;
+    }
+
+    private void focusOwnerChanged(PropertyChangeEvent evt) {
+        Object focusOwner = evt.getNewValue();
+        // Focus moving to popup menu or temporary loss keeps previous handler
+        if (focusOwner instanceof Component && !(focusOwner instanceof JPopupMenu)) {
+            detachFocusedClipboardHandler();
+            attachFocusedClipboardHandler((Component) focusOwner);
+        }
+    }
+
+    private void attachFocusedClipboardHandler(@Nullable Component focusOwner) {
+        ClipboardActionsHandler handler = focusOwner == null ? null : createClipboardHandler(focusOwner);
+        focusedClipboardHandler = handler == null ? new ClipboardActionsHandlerEmpty() : handler;
+        final ClipboardActionsUpdater updater = clipboardActionsUpdater;
+        updater.setClipboardActionsHandler(focusedClipboardHandler);
+        focusedClipboardHandler.setUpdateListener(updater::updateClipboardActions);
+    }
+
+    private void detachFocusedClipboardHandler() {
+        if (focusedClipboardHandler != null) {
+            focusedClipboardHandler.setUpdateListener(null);
+            focusedClipboardHandler = null;
+        }
+    }
+
     public void appendTextMenu(JMenu menu, final TextActionsHandler handler) {
         menu.add(createCopyTextMenuAction(handler));
     }
@@ -183,7 +276,7 @@ public class DefaultPopupMenu {
     @Nonnull
     public Action createOpenLinkMenuAction(final LinkActionsHandler handler) {
         Class<? extends DefaultPopupMenu> resourceClass = DefaultPopupMenu.class;
-        Action openLinkMenuAction = new DefaultPopupClipboardAction(POPUP_OPEN_LINK_ACTION_NAME) {
+        Action openLinkMenuAction = new AbstractAction(POPUP_OPEN_LINK_ACTION_NAME) {
             @Override
             public void actionPerformed(ActionEvent e) {
                 handler.performOpenLink();
@@ -228,13 +321,14 @@ public class DefaultPopupMenu {
         defaultTextActionMap = new ActionMap();
         defaultCutAction = new DefaultPopupClipboardAction(DefaultEditorKit.cutAction) {
             @Override
-            public void actionPerformed(ActionEvent e) {
-                clipboardHandler.performCut();
+            protected void performAction(PopupContext context) {
+                context.getClipboardHandler().performCut();
             }
 
             @Override
-            public void updateFor(ClipboardActionsHandler clipboardHandler, @Nullable MouseEvent mouseEvent) {
-                super.updateFor(clipboardHandler, mouseEvent);
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                ClipboardActionsHandler clipboardHandler = context.getClipboardHandler();
                 setEnabled(clipboardHandler.isEditable() && clipboardHandler.isSelection());
             }
         };
@@ -245,14 +339,14 @@ public class DefaultPopupMenu {
 
         defaultCopyAction = new DefaultPopupClipboardAction(DefaultEditorKit.copyAction) {
             @Override
-            public void actionPerformed(ActionEvent e) {
-                clipboardHandler.performCopy();
+            protected void performAction(PopupContext context) {
+                context.getClipboardHandler().performCopy();
             }
 
             @Override
-            public void updateFor(ClipboardActionsHandler clipboardHandler, @Nullable MouseEvent mouseEvent) {
-                super.updateFor(clipboardHandler, mouseEvent);
-                setEnabled(clipboardHandler.isSelection());
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                setEnabled(context.getClipboardHandler().isSelection());
             }
         };
         ActionUtils.setupAction(defaultCopyAction, resourceBundle, resourceClass, POPUP_COPY_ACTION_ID);
@@ -262,14 +356,14 @@ public class DefaultPopupMenu {
 
         defaultPasteAction = new DefaultPopupClipboardAction(DefaultEditorKit.pasteAction) {
             @Override
-            public void actionPerformed(ActionEvent e) {
-                clipboardHandler.performPaste();
+            protected void performAction(PopupContext context) {
+                context.getClipboardHandler().performPaste();
             }
 
             @Override
-            public void updateFor(ClipboardActionsHandler clipboardHandler, @Nullable MouseEvent mouseEvent) {
-                super.updateFor(clipboardHandler, mouseEvent);
-                setEnabled(clipboardHandler.isEditable());
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                setEnabled(context.getClipboardHandler().isEditable());
             }
         };
         ActionUtils.setupAction(defaultPasteAction, resourceBundle, resourceClass, POPUP_PASTE_ACTION_ID);
@@ -279,13 +373,14 @@ public class DefaultPopupMenu {
 
         defaultDeleteAction = new DefaultPopupClipboardAction(DefaultEditorKit.deleteNextCharAction) {
             @Override
-            public void actionPerformed(ActionEvent e) {
-                clipboardHandler.performDelete();
+            protected void performAction(PopupContext context) {
+                context.getClipboardHandler().performDelete();
             }
 
             @Override
-            public void updateFor(ClipboardActionsHandler clipboardHandler, @Nullable MouseEvent mouseEvent) {
-                super.updateFor(clipboardHandler, mouseEvent);
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                ClipboardActionsHandler clipboardHandler = context.getClipboardHandler();
                 setEnabled(clipboardHandler.canDelete() && clipboardHandler.isSelection());
             }
         };
@@ -296,14 +391,14 @@ public class DefaultPopupMenu {
 
         defaultSelectAllAction = new DefaultPopupClipboardAction(DefaultEditorKit.selectAllAction) {
             @Override
-            public void actionPerformed(ActionEvent e) {
-                clipboardHandler.performSelectAll();
+            protected void performAction(PopupContext context) {
+                context.getClipboardHandler().performSelectAll();
             }
 
             @Override
-            public void updateFor(ClipboardActionsHandler clipboardHandler, @Nullable MouseEvent mouseEvent) {
-                super.updateFor(clipboardHandler, mouseEvent);
-                setEnabled(clipboardHandler.canSelectAll());
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                setEnabled(context.getClipboardHandler().canSelectAll());
             }
         };
         ActionUtils.setupAction(defaultSelectAllAction, resourceBundle, resourceClass, POPUP_SELECT_ALL_ACTION_ID);
@@ -314,20 +409,24 @@ public class DefaultPopupMenu {
 
         copyTextAction = new DefaultPopupClipboardAction(POPUP_COPY_TEXT_ACTION_NAME) {
             @Override
-            public void actionPerformed(ActionEvent e) {
-                if (mouseEvent != null && clipboardHandler instanceof PositionTextActionsHandler) {
-                    ((PositionTextActionsHandler) clipboardHandler).performCopyText(mouseEvent.getLocationOnScreen());
+            protected void performAction(PopupContext context) {
+                ClipboardActionsHandler clipboardHandler = context.getClipboardHandler();
+                Point locationOnScreen = context.getLocationOnScreen();
+                if (locationOnScreen != null && clipboardHandler instanceof PositionTextActionsHandler) {
+                    ((PositionTextActionsHandler) clipboardHandler).performCopyText(locationOnScreen);
                 } else {
                     ((TextActionsHandler) clipboardHandler).performCopyText();
                 }
             }
 
             @Override
-            public void updateFor(ClipboardActionsHandler clipboardHandler, @Nullable MouseEvent mouseEvent) {
-                super.updateFor(clipboardHandler, mouseEvent);
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                ClipboardActionsHandler clipboardHandler = context.getClipboardHandler();
+                Point locationOnScreen = context.getLocationOnScreen();
                 boolean updateEnabled;
-                if (mouseEvent != null && clipboardHandler instanceof PositionTextActionsHandler) {
-                    updateEnabled = ((PositionTextActionsHandler) clipboardHandler).isTextSelected(mouseEvent.getLocationOnScreen());
+                if (locationOnScreen != null && clipboardHandler instanceof PositionTextActionsHandler) {
+                    updateEnabled = ((PositionTextActionsHandler) clipboardHandler).isTextSelected(locationOnScreen);
                 } else {
                     updateEnabled = clipboardHandler instanceof TextActionsHandler && ((TextActionsHandler) clipboardHandler).isTextSelected();
                 }
@@ -337,66 +436,62 @@ public class DefaultPopupMenu {
         ActionUtils.setupAction(copyTextAction, resourceBundle, resourceClass, POPUP_COPY_TEXT_ACTION_ID);
         copyLinkAction = new DefaultPopupClipboardAction(POPUP_COPY_LINK_ACTION_NAME) {
             @Override
-            public void actionPerformed(ActionEvent e) {
-                if (mouseEvent != null && clipboardHandler instanceof PositionLinkActionsHandler) {
-                    ((PositionLinkActionsHandler) clipboardHandler).performCopyLink(mouseEvent.getLocationOnScreen());
+            protected void performAction(PopupContext context) {
+                ClipboardActionsHandler clipboardHandler = context.getClipboardHandler();
+                Point locationOnScreen = context.getLocationOnScreen();
+                if (locationOnScreen != null && clipboardHandler instanceof PositionLinkActionsHandler) {
+                    ((PositionLinkActionsHandler) clipboardHandler).performCopyLink(locationOnScreen);
                 } else {
                     ((LinkActionsHandler) clipboardHandler).performCopyLink();
                 }
             }
 
             @Override
-            public void updateFor(ClipboardActionsHandler clipboardHandler, @Nullable MouseEvent mouseEvent) {
-                super.updateFor(clipboardHandler, mouseEvent);
-                boolean updateEnabled;
-                if (mouseEvent != null && clipboardHandler instanceof PositionLinkActionsHandler) {
-                    updateEnabled = ((PositionLinkActionsHandler) clipboardHandler).isLinkSelected(mouseEvent.getLocationOnScreen());
-                } else {
-                    updateEnabled = clipboardHandler instanceof LinkActionsHandler && ((LinkActionsHandler) clipboardHandler).isLinkSelected();
-                }
-                setEnabled(updateEnabled);
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                setEnabled(isLinkSelected(context));
             }
         };
         ActionUtils.setupAction(copyLinkAction, resourceBundle, resourceClass, POPUP_COPY_LINK_ACTION_ID);
         openLinkAction = new DefaultPopupClipboardAction(POPUP_OPEN_LINK_ACTION_NAME) {
             @Override
-            public void actionPerformed(ActionEvent e) {
-                if (mouseEvent != null && clipboardHandler instanceof PositionLinkActionsHandler) {
-                    ((PositionLinkActionsHandler) clipboardHandler).performOpenLink(mouseEvent.getLocationOnScreen());
+            protected void performAction(PopupContext context) {
+                ClipboardActionsHandler clipboardHandler = context.getClipboardHandler();
+                Point locationOnScreen = context.getLocationOnScreen();
+                if (locationOnScreen != null && clipboardHandler instanceof PositionLinkActionsHandler) {
+                    ((PositionLinkActionsHandler) clipboardHandler).performOpenLink(locationOnScreen);
                 } else {
                     ((LinkActionsHandler) clipboardHandler).performOpenLink();
                 }
             }
 
             @Override
-            public void updateFor(ClipboardActionsHandler clipboardHandler, @Nullable MouseEvent mouseEvent) {
-                super.updateFor(clipboardHandler, mouseEvent);
-                boolean updateEnabled;
-                if (mouseEvent != null && clipboardHandler instanceof PositionLinkActionsHandler) {
-                    updateEnabled = ((PositionLinkActionsHandler) clipboardHandler).isLinkSelected(mouseEvent.getLocationOnScreen());
-                } else {
-                    updateEnabled = clipboardHandler instanceof LinkActionsHandler && ((LinkActionsHandler) clipboardHandler).isLinkSelected();
-                }
-                setEnabled(updateEnabled);
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                setEnabled(isLinkSelected(context));
             }
         };
         ActionUtils.setupAction(openLinkAction, resourceBundle, resourceClass, POPUP_OPEN_LINK_ACTION_ID);
         copyImageAction = new DefaultPopupClipboardAction(POPUP_COPY_IMAGE_ACTION_NAME) {
             @Override
-            public void actionPerformed(ActionEvent e) {
-                if (mouseEvent != null && clipboardHandler instanceof PositionImageActionsHandler) {
-                    ((PositionImageActionsHandler) clipboardHandler).performCopyImage(mouseEvent.getLocationOnScreen());
+            protected void performAction(PopupContext context) {
+                ClipboardActionsHandler clipboardHandler = context.getClipboardHandler();
+                Point locationOnScreen = context.getLocationOnScreen();
+                if (locationOnScreen != null && clipboardHandler instanceof PositionImageActionsHandler) {
+                    ((PositionImageActionsHandler) clipboardHandler).performCopyImage(locationOnScreen);
                 } else {
                     ((ImageActionsHandler) clipboardHandler).performCopyImage();
                 }
             }
 
             @Override
-            public void updateFor(ClipboardActionsHandler clipboardHandler, @Nullable MouseEvent mouseEvent) {
-                super.updateFor(clipboardHandler, mouseEvent);
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                ClipboardActionsHandler clipboardHandler = context.getClipboardHandler();
+                Point locationOnScreen = context.getLocationOnScreen();
                 boolean updateEnabled;
-                if (mouseEvent != null && clipboardHandler instanceof PositionImageActionsHandler) {
-                    updateEnabled = ((PositionImageActionsHandler) clipboardHandler).isImageSelected(mouseEvent.getLocationOnScreen());
+                if (locationOnScreen != null && clipboardHandler instanceof PositionImageActionsHandler) {
+                    updateEnabled = ((PositionImageActionsHandler) clipboardHandler).isImageSelected(locationOnScreen);
                 } else {
                     updateEnabled = clipboardHandler instanceof ImageActionsHandler && ((ImageActionsHandler) clipboardHandler).isImageSelected();
                 }
@@ -404,6 +499,49 @@ public class DefaultPopupMenu {
             }
         };
         ActionUtils.setupAction(copyImageAction, resourceBundle, resourceClass, POPUP_COPY_IMAGE_ACTION_ID);
+        copyAllLinksAction = new DefaultPopupClipboardAction(POPUP_COPY_ALL_LINKS_ACTION_NAME) {
+            @Override
+            protected void performAction(PopupContext context) {
+                ((DocumentLinksActionsHandler) context.getClipboardHandler()).performCopyAllLinks();
+            }
+
+            @Override
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                setEnabled(isDocumentLinksAvailable(context));
+            }
+        };
+        ActionUtils.setupAction(copyAllLinksAction, resourceBundle, resourceClass, POPUP_COPY_ALL_LINKS_ACTION_ID);
+        copyAllImagesAction = new DefaultPopupClipboardAction(POPUP_COPY_ALL_IMAGES_ACTION_NAME) {
+            @Override
+            protected void performAction(PopupContext context) {
+                ((DocumentLinksActionsHandler) context.getClipboardHandler()).performCopyAllImages();
+            }
+
+            @Override
+            public void updateFor(PopupContext context) {
+                super.updateFor(context);
+                setEnabled(isDocumentLinksAvailable(context));
+            }
+        };
+        ActionUtils.setupAction(copyAllImagesAction, resourceBundle, resourceClass, POPUP_COPY_ALL_IMAGES_ACTION_ID);
+
+        popupActions = new DefaultPopupClipboardAction[]{defaultCutAction, defaultCopyAction, defaultPasteAction, defaultDeleteAction, defaultSelectAllAction, copyTextAction, copyLinkAction, openLinkAction, copyImageAction, copyAllLinksAction, copyAllImagesAction};
+    }
+
+    private static boolean isLinkSelected(PopupContext context) {
+        ClipboardActionsHandler clipboardHandler = context.getClipboardHandler();
+        Point locationOnScreen = context.getLocationOnScreen();
+        if (locationOnScreen != null && clipboardHandler instanceof PositionLinkActionsHandler) {
+            return ((PositionLinkActionsHandler) clipboardHandler).isLinkSelected(locationOnScreen);
+        }
+
+        return clipboardHandler instanceof LinkActionsHandler && ((LinkActionsHandler) clipboardHandler).isLinkSelected();
+    }
+
+    private static boolean isDocumentLinksAvailable(PopupContext context) {
+        ClipboardActionsHandler clipboardHandler = context.getClipboardHandler();
+        return clipboardHandler instanceof DocumentLinksActionsHandler && ((DocumentLinksActionsHandler) clipboardHandler).isDocumentLinksAvailable();
     }
 
     public void fillDefaultPopupMenu(JPopupMenu popupMenu, int position) {
@@ -490,14 +628,9 @@ public class DefaultPopupMenu {
                     component = ((JViewport) component).getView();
                 }
 
-                if (component instanceof JEditorPane) {
-                    activateMousePopup(mouseEvent, component, new EditorPanePopupHandler((JEditorPane) component));
-                } else if (component instanceof JTextComponent) {
-                    activateMousePopup(mouseEvent, component, new TextComponentPopupHandler((JTextComponent) component));
-                } else if (component instanceof JList) {
-                    activateMousePopup(mouseEvent, component, new ListPopupHandler((JList<?>) component));
-                } else if (component instanceof JTable) {
-                    activateMousePopup(mouseEvent, component, new TablePopupHandler((JTable) component));
+                ClipboardActionsHandler clipboardHandler = component == null ? null : createClipboardHandler(component);
+                if (clipboardHandler != null) {
+                    activateMousePopup(mouseEvent, component, clipboardHandler);
                 }
             }
         } else if (event.getID() == KeyEvent.KEY_PRESSED) {
@@ -560,29 +693,19 @@ public class DefaultPopupMenu {
     }
 
     protected void activateMousePopup(MouseEvent mouseEvent, Component component, ClipboardActionsHandler clipboardHandler) {
-        for (DefaultPopupClipboardAction action : defaultTextActions) {
-            action.updateFor(clipboardHandler, mouseEvent);
-            copyTextAction.updateFor(clipboardHandler, mouseEvent);
-            copyLinkAction.updateFor(clipboardHandler, mouseEvent);
-            openLinkAction.updateFor(clipboardHandler, mouseEvent);
-            copyImageAction.updateFor(clipboardHandler, mouseEvent);
-        }
+        PopupContext popupContext = new PopupContext(clipboardHandler, mouseEvent.getLocationOnScreen());
+        updateActionsFor(popupContext);
 
         Point point = mouseEvent.getLocationOnScreen();
         Point locationOnScreen = component.getLocationOnScreen();
         point.translate(-locationOnScreen.x, -locationOnScreen.y);
 
-        showPopupMenu(component, point, clipboardHandler);
+        showPopupMenu(component, point, popupContext);
     }
 
     protected void activateKeyPopup(Component component, @Nullable Point point, ClipboardActionsHandler clipboardHandler) {
-        for (DefaultPopupClipboardAction action : defaultTextActions) {
-            action.updateFor(clipboardHandler, null);
-            copyTextAction.updateFor(clipboardHandler, null);
-            copyLinkAction.updateFor(clipboardHandler, null);
-            openLinkAction.updateFor(clipboardHandler, null);
-            copyImageAction.updateFor(clipboardHandler, null);
-        }
+        PopupContext popupContext = new PopupContext(clipboardHandler, null);
+        updateActionsFor(popupContext);
 
         if (point == null) {
             if (component.getParent() instanceof ScrollPane) {
@@ -593,15 +716,48 @@ public class DefaultPopupMenu {
             }
         }
 
-        showPopupMenu(component, point, clipboardHandler);
+        showPopupMenu(component, point, popupContext);
     }
 
-    protected void showPopupMenu(Component component, Point point, ClipboardActionsHandler handler) {
+    protected void updateActionsFor(PopupContext popupContext) {
+        for (DefaultPopupClipboardAction action : popupActions) {
+            action.updateFor(popupContext);
+        }
+    }
+
+    protected void releaseActionsFor(PopupContext popupContext) {
+        for (DefaultPopupClipboardAction action : popupActions) {
+            action.release(popupContext);
+        }
+    }
+
+    protected void showPopupMenu(Component component, Point point, final PopupContext popupContext) {
+        final ClipboardActionsHandler handler = popupContext.getClipboardHandler();
         boolean editable = handler.isEditable();
 
-        JPopupMenu popupMenu = UiUtils.createPopupMenu();
+        final JPopupMenu popupMenu = UiUtils.createPopupMenu();
         popupMenu.setName("defaultPopupMenu");
+        // Popup menu is the only strong holder of the context while shown
+        popupMenu.putClientProperty(POPUP_CONTEXT_PROPERTY, popupContext);
+        popupMenu.addPopupMenuListener(new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent e) {
+                popupMenu.removePopupMenuListener(this);
+                // Selected menu item action is performed after popup is hidden
+                SwingUtilities.invokeLater(() -> {
+                    popupMenu.putClientProperty(POPUP_CONTEXT_PROPERTY, null);
+                    releaseActionsFor(popupContext);
+                });
+            }
 
+            @Override
+            public void popupMenuCanceled(PopupMenuEvent e) {
+            }
+        });
         boolean hasExtra = false;
         if (handler instanceof TextActionsHandler) {
             if (copyTextAction.isEnabled()) {
@@ -641,6 +797,24 @@ public class DefaultPopupMenu {
             }
         }
 
+        if (handler instanceof DocumentLinksActionsHandler) {
+            if (copyAllLinksAction.isEnabled()) {
+                JMenuItem copyAllLinksMenuItem = new JMenuItem();
+                copyAllLinksMenuItem.setAction(copyAllLinksAction);
+                copyAllLinksMenuItem.setName("basicCopyAllLinksMenuItem");
+                popupMenu.add(copyAllLinksMenuItem);
+                hasExtra = true;
+            }
+
+            if (copyAllImagesAction.isEnabled()) {
+                JMenuItem copyAllImagesMenuItem = new JMenuItem();
+                copyAllImagesMenuItem.setAction(copyAllImagesAction);
+                copyAllImagesMenuItem.setName("basicCopyAllImagesMenuItem");
+                popupMenu.add(copyAllImagesMenuItem);
+                hasExtra = true;
+            }
+        }
+
         if (hasExtra) {
             popupMenu.addSeparator();
         }
@@ -671,22 +845,75 @@ public class DefaultPopupMenu {
         }
     }
 
+    /**
+     * Context of single shown popup menu.
+     */
+    @ParametersAreNonnullByDefault
+    protected static class PopupContext {
+
+        private final ClipboardActionsHandler clipboardHandler;
+        private final Point locationOnScreen;
+
+        public PopupContext(ClipboardActionsHandler clipboardHandler, @Nullable Point locationOnScreen) {
+            this.clipboardHandler = clipboardHandler;
+            this.locationOnScreen = locationOnScreen == null ? null : new Point(locationOnScreen);
+        }
+
+        @Nonnull
+        public ClipboardActionsHandler getClipboardHandler() {
+            return clipboardHandler;
+        }
+
+        /**
+         * Returns location on screen where popup was invoked.
+         *
+         * @return new instance of location or null if popup was invoked by
+         * keyboard
+         */
+        @Nullable
+        public Point getLocationOnScreen() {
+            return locationOnScreen == null ? null : new Point(locationOnScreen);
+        }
+    }
+
     /**
      * Clipboard action for default popup menu.
+     * <p>
+     * Action keeps only weak reference to the context of the popup menu, so
+     * that handler and its component are not retained after popup is closed.
      */
     @ParametersAreNonnullByDefault
     protected static abstract class DefaultPopupClipboardAction extends AbstractAction {
 
-        protected ClipboardActionsHandler clipboardHandler;
-        protected MouseEvent mouseEvent;
+        private WeakReference<PopupContext> popupContext = new WeakReference<>(null);
 
         public DefaultPopupClipboardAction(String name) {
             super(name);
         }
 
-        public void updateFor(ClipboardActionsHandler clipboardHandler, @Nullable MouseEvent mouseEvent) {
-            this.clipboardHandler = clipboardHandler;
-            this.mouseEvent = mouseEvent;
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            PopupContext context = popupContext.get();
+            if (context != null) {
+                performAction(context);
+            }
+        }
+
+        protected abstract void performAction(PopupContext context);
+
+        public void updateFor(PopupContext context) {
+            popupContext = new WeakReference<>(context);
+        }
+
+        public void release(PopupContext context) {
+            if (popupContext.get() == context) {
+                popupContext = new WeakReference<>(null);
+            }
+        }
+
+        @Nullable
+        protected PopupContext getPopupContext() {
+            return popupContext.get();
         }
     }
 }
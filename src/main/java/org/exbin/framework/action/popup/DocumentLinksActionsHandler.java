@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.action.popup;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Interface for handler of links contained in whole document of visual
+ * component / context menu.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface DocumentLinksActionsHandler {
+
+    /**
+     * Performs copy of all links in document to clipboard operation.
+     */
+    void performCopyAllLinks();
+
+    /**
+     * Performs copy of all image locations in document to clipboard
+     * operation.
+     */
+    void performCopyAllImages();
+
+    /**
+     * Returns true if document can contain links.
+     *
+     * @return true if document links are available
+     */
+    boolean isDocumentLinksAvailable();
+}
@@ -27,23 +27,31 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Dictionary;
 import java.util.Hashtable;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.ImageIcon;
 import javax.swing.JEditorPane;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.plaf.TextUI;
 import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultEditorKit;
 import javax.swing.text.Document;
 import javax.swing.text.Element;
+import javax.swing.text.ElementIterator;
 import javax.swing.text.Position;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.html.HTML;
 import javax.swing.text.html.HTMLDocument;
+import org.exbin.framework.action.popup.DocumentLinksActionsHandler;
 import org.exbin.framework.action.popup.ImageActionsHandler;
 import org.exbin.framework.action.popup.LinkActionsHandler;
 import org.exbin.framework.action.popup.PositionImageActionsHandler;
@@ -52,6 +60,7 @@ import org.exbin.framework.utils.ActionUtils;
 import org.exbin.framework.utils.DesktopUtils;
 import org.exbin.framework.utils.ClipboardActionsHandler;
 import org.exbin.framework.utils.ClipboardActionsUpdateListener;
+import org.exbin.framework.utils.ClipboardActionsUpdateSupport;
 import org.exbin.framework.utils.ClipboardUtils;
 
 /**
@@ -60,15 +69,18 @@ import org.exbin.framework.utils.ClipboardUtils;
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
-public class EditorPanePopupHandler implements ClipboardActionsHandler, LinkActionsHandler, PositionLinkActionsHandler, ImageActionsHandler, PositionImageActionsHandler {
+public class EditorPanePopupHandler implements ClipboardActionsHandler, LinkActionsHandler, PositionLinkActionsHandler, ImageActionsHandler, PositionImageActionsHandler, DocumentLinksActionsHandler {
 
     private static String MAP_PROPERTY = "__MAP__";
     private static String IMAGE_CACHE_PROPERTY = "imageCache";
 
     private final JEditorPane editorPane;
+    private final ClipboardActionsUpdateSupport updateSupport = new ClipboardActionsUpdateSupport();
+    private final TextComponentStateListener stateListener;
 
     public EditorPanePopupHandler(JEditorPane editorPane) {
         this.editorPane = editorPane;
+        stateListener = new TextComponentStateListener(editorPane, updateSupport);
     }
 
     @Override
@@ -78,6 +90,20 @@ public class EditorPanePopupHandler implements ClipboardActionsHandler, LinkActi
 
     @Override
     public void performCopy() {
+        Document document = editorPane.getDocument();
+        int selectionStart = editorPane.getSelectionStart();
+        int selectionEnd = editorPane.getSelectionEnd();
+        String selectedText = editorPane.getSelectedText();
+        if (document instanceof HTMLDocument && selectionStart != selectionEnd && selectedText != null) {
+            try {
+                HtmlSelectionTransferable transferable = new HtmlSelectionTransferable((HTMLDocument) document, selectionStart, selectionEnd, selectedText);
+                ClipboardUtils.getClipboard().setContents(transferable, transferable);
+                return;
+            } catch (BadLocationException ex) {
+                Logger.getLogger(EditorPanePopupHandler.class.getName()).log(Level.WARNING, null, ex);
+            }
+        }
+
         editorPane.copy();
     }
 
@@ -113,8 +139,14 @@ public class EditorPanePopupHandler implements ClipboardActionsHandler, LinkActi
     }
 
     @Override
-    public void setUpdateListener(ClipboardActionsUpdateListener updateListener) {
-        // Ignore
+    public void setUpdateListener(@Nullable ClipboardActionsUpdateListener updateListener) {
+        if (updateSupport.setUpdateListener(updateListener)) {
+            if (updateListener != null) {
+                stateListener.attach();
+            } else {
+                stateListener.detach();
+            }
+        }
     }
 
     @Override
@@ -194,6 +226,27 @@ public class EditorPanePopupHandler implements ClipboardActionsHandler, LinkActi
         }
     }
 
+    @Override
+    public boolean isDocumentLinksAvailable() {
+        return editorPane.getDocument() instanceof HTMLDocument;
+    }
+
+    @Override
+    public void performCopyAllLinks() {
+        Document document = editorPane.getDocument();
+        if (document instanceof HTMLDocument) {
+            copyDocumentReferencesToClipboard((HTMLDocument) document, false);
+        }
+    }
+
+    @Override
+    public void performCopyAllImages() {
+        Document document = editorPane.getDocument();
+        if (document instanceof HTMLDocument) {
+            copyDocumentReferencesToClipboard((HTMLDocument) document, true);
+        }
+    }
+
     @Nullable
     public static String getLinkUrl(JEditorPane editorPane, int caretPosition) {
         return getLinkUrl(editorPane, caretPosition, 0, 0);
@@ -308,6 +361,109 @@ public class EditorPanePopupHandler implements ClipboardActionsHandler, LinkActi
         return null;
     }
 
+    /**
+     * Collects all distinct links in document resolved against document base.
+     * <p>
+     * Caller should hold read lock of the document, see
+     * {@link HTMLDocument#render(Runnable)}.
+     *
+     * @param document HTML document
+     * @return set of links in document order
+     */
+    @Nonnull
+    public static Set<String> collectDocumentLinks(HTMLDocument document) {
+        return collectDocumentReferences(document, false);
+    }
+
+    /**
+     * Collects all distinct image sources in document resolved against
+     * document base.
+     * <p>
+     * Caller should hold read lock of the document, see
+     * {@link HTMLDocument#render(Runnable)}.
+     *
+     * @param document HTML document
+     * @return set of image locations in document order
+     */
+    @Nonnull
+    public static Set<String> collectDocumentImages(HTMLDocument document) {
+        return collectDocumentReferences(document, true);
+    }
+
+    @Nonnull
+    private static Set<String> collectDocumentReferences(HTMLDocument document, boolean images) {
+        Set<String> references = new LinkedHashSet<>();
+        ElementIterator iterator = new ElementIterator(document);
+        // Text of single anchor is often split into multiple leaf elements sharing the same attributes
+        Object lastReference = null;
+        Element element;
+        while ((element = iterator.next()) != null) {
+            if (!element.isLeaf()) {
+                continue;
+            }
+
+            AttributeSet attributes = element.getAttributes();
+            Object reference;
+            if (images) {
+                reference = attributes.getAttribute(StyleConstants.NameAttribute) == HTML.Tag.IMG ? attributes.getAttribute(HTML.Attribute.SRC) : null;
+            } else {
+                Object anchor = attributes.getAttribute(HTML.Tag.A);
+                reference = anchor instanceof AttributeSet ? ((AttributeSet) anchor).getAttribute(HTML.Attribute.HREF) : null;
+            }
+
+            if (reference instanceof String && reference != lastReference) {
+                references.add((String) reference);
+            }
+            lastReference = reference;
+        }
+
+        URL base = document.getBase();
+        if (base == null) {
+            return references;
+        }
+
+        // Resolve only distinct references, different references can still resolve to the same location
+        Set<String> resolvedReferences = new LinkedHashSet<>();
+        for (String reference : references) {
+            resolvedReferences.add(resolveUrl(base, reference));
+        }
+        return resolvedReferences;
+    }
+
+    @Nonnull
+    private static String resolveUrl(URL base, String reference) {
+        try {
+            return new URL(base, reference).toString();
+        } catch (MalformedURLException ex) {
+            return reference;
+        }
+    }
+
+    private static void copyDocumentReferencesToClipboard(final HTMLDocument document, final boolean images) {
+        // Large documents are processed outside of the event dispatch thread
+        new SwingWorker<Set<String>, Void>() {
+            @Nonnull
+            @Override
+            protected Set<String> doInBackground() {
+                AtomicReference<Set<String>> result = new AtomicReference<>();
+                document.render(() -> result.set(collectDocumentReferences(document, images)));
+                return result.get();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    Set<String> references = get();
+                    if (!references.isEmpty()) {
+                        ClipboardUtils.copyLines(references);
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Logger.getLogger(EditorPanePopupHandler.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            }
+        }.execute();
+    }
+
     private static void copyImageToClipboard(HTMLDocument document, String imageSrc) {
         try {
             // From ImageView.loadImage
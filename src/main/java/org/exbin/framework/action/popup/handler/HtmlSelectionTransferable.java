@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.action.popup.handler;
+
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.ClipboardOwner;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.Transferable;
+import java.awt.datatransfer.UnsupportedFlavorException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Position;
+import javax.swing.text.html.HTMLDocument;
+import org.exbin.framework.utils.HtmlFragmentWriter;
+
+/**
+ * Transferable for selection of HTML document.
+ * <p>
+ * Plain text is captured immediately, HTML fragment and Markdown are
+ * rendered from the selected range only when requested. Document is released
+ * when clipboard ownership is lost or when document is modified, rich flavors
+ * not rendered until then are no longer offered.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class HtmlSelectionTransferable implements Transferable, ClipboardOwner {
+
+    public static final String MARKDOWN_MIME_TYPE = "text/markdown;class=java.lang.String";
+
+    private static DataFlavor markdownFlavor = null;
+
+    static {
+        try {
+            markdownFlavor = new DataFlavor(MARKDOWN_MIME_TYPE);
+        } catch (ClassNotFoundException ex) {
+            Logger.getLogger(HtmlSelectionTransferable.class.getName()).log(Level.WARNING, null, ex);
+        }
+    }
+
+    private final String plainText;
+    @Nullable
+    private volatile SelectionSource source;
+    @Nullable
+    private volatile String htmlText = null;
+    @Nullable
+    private volatile String markdownText = null;
+
+    public HtmlSelectionTransferable(HTMLDocument document, int startOffset, int endOffset, String plainText) throws BadLocationException {
+        this.plainText = plainText;
+        source = new SelectionSource(document, startOffset, endOffset);
+    }
+
+    @Nonnull
+    @Override
+    public DataFlavor[] getTransferDataFlavors() {
+        List<DataFlavor> flavors = new ArrayList<>();
+        flavors.add(DataFlavor.stringFlavor);
+        boolean sourceAvailable = source != null;
+        if (sourceAvailable || htmlText != null) {
+            flavors.add(DataFlavor.allHtmlFlavor);
+            flavors.add(DataFlavor.selectionHtmlFlavor);
+            flavors.add(DataFlavor.fragmentHtmlFlavor);
+        }
+        if (markdownFlavor != null && (sourceAvailable || markdownText != null)) {
+            flavors.add(markdownFlavor);
+        }
+
+        return flavors.toArray(new DataFlavor[0]);
+    }
+
+    @Override
+    public boolean isDataFlavorSupported(DataFlavor flavor) {
+        for (DataFlavor supportedFlavor : getTransferDataFlavors()) {
+            if (supportedFlavor.equals(flavor)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public Object getTransferData(DataFlavor flavor) throws UnsupportedFlavorException, IOException {
+        if (flavor.equals(DataFlavor.stringFlavor)) {
+            return plainText;
+        }
+
+        if (flavor.equals(DataFlavor.allHtmlFlavor) || flavor.equals(DataFlavor.selectionHtmlFlavor) || flavor.equals(DataFlavor.fragmentHtmlFlavor)) {
+            String text = htmlText;
+            if (text == null) {
+                text = render(flavor, HtmlFragmentWriter.Format.HTML);
+                htmlText = text;
+            }
+            return flavor.equals(DataFlavor.allHtmlFlavor) ? "<html><body>" + text + "</body></html>" : text;
+        }
+
+        if (markdownFlavor != null && flavor.equals(markdownFlavor)) {
+            String text = markdownText;
+            if (text == null) {
+                text = render(flavor, HtmlFragmentWriter.Format.MARKDOWN);
+                markdownText = text;
+            }
+            return text;
+        }
+
+        throw new UnsupportedFlavorException(flavor);
+    }
+
+    @Nonnull
+    private String render(DataFlavor flavor, HtmlFragmentWriter.Format format) throws UnsupportedFlavorException, IOException {
+        SelectionSource selectionSource = source;
+        if (selectionSource == null) {
+            throw new UnsupportedFlavorException(flavor);
+        }
+
+        HTMLDocument document = selectionSource.document;
+        StringBuilder builder = new StringBuilder();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        document.render(() -> {
+            // Document could be modified before read lock was acquired
+            if (source != selectionSource) {
+                return;
+            }
+
+            try {
+                HtmlFragmentWriter.write(document, selectionSource.startPosition.getOffset(), selectionSource.endPosition.getOffset(), format, builder);
+            } catch (IOException ex) {
+                failure.set(ex);
+            } catch (BadLocationException ex) {
+                failure.set(new IOException(ex));
+            }
+        });
+        if (failure.get() != null) {
+            throw (IOException) failure.get();
+        }
+        if (source != selectionSource) {
+            throw new UnsupportedFlavorException(flavor);
+        }
+
+        return builder.toString();
+    }
+
+    private void releaseSource() {
+        SelectionSource selectionSource = source;
+        if (selectionSource != null) {
+            source = null;
+            selectionSource.document.removeDocumentListener(selectionSource);
+        }
+    }
+
+    @Override
+    public void lostOwnership(Clipboard clipboard, Transferable contents) {
+        releaseSource();
+    }
+
+    /**
+     * Selected range of document, released on any document modification as
+     * rendered flavors would no longer match captured plain text.
+     */
+    @ParametersAreNonnullByDefault
+    private class SelectionSource implements DocumentListener {
+
+        private final HTMLDocument document;
+        private final Position startPosition;
+        private final Position endPosition;
+
+        public SelectionSource(HTMLDocument document, int startOffset, int endOffset) throws BadLocationException {
+            this.document = document;
+            startPosition = document.createPosition(startOffset);
+            endPosition = document.createPosition(endOffset);
+            document.addDocumentListener(this);
+        }
+
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            releaseSource();
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            releaseSource();
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            releaseSource();
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.exbin.framework.utils.ClipboardActionsHandler;
 import org.exbin.framework.utils.ClipboardActionsUpdateListener;
 import org.exbin.framework.utils.ClipboardUtils;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.awt.datatransfer.StringSelection;
 
@@ -79,8 +80,8 @@ public class HyperlinkLabelPopupHandler implements ClipboardActionsHandler, Link
     }
 
     @Override
-    public void setUpdateListener(ClipboardActionsUpdateListener updateListener) {
-        // Ignore
+    public void setUpdateListener(@Nullable ClipboardActionsUpdateListener updateListener) {
+        // State of actions doesn't change
     }
 
     @Override
@@ -16,12 +16,20 @@
 package org.exbin.framework.action.popup.handler;
 
 import java.awt.datatransfer.StringSelection;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.util.List;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.DefaultListSelectionModel;
 import javax.swing.JList;
+import javax.swing.ListModel;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import javax.swing.event.ListSelectionListener;
 import org.exbin.framework.utils.ClipboardActionsHandler;
 import org.exbin.framework.utils.ClipboardActionsUpdateListener;
+import org.exbin.framework.utils.ClipboardActionsUpdateSupport;
 import org.exbin.framework.utils.ClipboardUtils;
 
 /**
@@ -32,7 +40,32 @@ import org.exbin.framework.utils.ClipboardUtils;
 @ParametersAreNonnullByDefault
 public class ListPopupHandler implements ClipboardActionsHandler {
 
+    private static final String MODEL_PROPERTY = "model";
+    private static final String ENABLED_PROPERTY = "enabled";
+    private static final String SELECTION_MODE_PROPERTY = "selectionMode";
+
     private final JList<?> listComp;
+    private final ClipboardActionsUpdateSupport updateSupport = new ClipboardActionsUpdateSupport();
+    private final ListSelectionListener selectionListener = e -> updateSupport.notifyStateChanged();
+    private final ListDataListener dataListener = new ListDataListener() {
+        @Override
+        public void intervalAdded(ListDataEvent e) {
+            updateSupport.notifyStateChanged();
+        }
+
+        @Override
+        public void intervalRemoved(ListDataEvent e) {
+            updateSupport.notifyStateChanged();
+        }
+
+        @Override
+        public void contentsChanged(ListDataEvent e) {
+            updateSupport.notifyStateChanged();
+        }
+    };
+    // Selection listeners registered on JList are moved to replaced selection model by JList itself
+    private final PropertyChangeListener propertyListener = this::listPropertyChanged;
+    private ListModel<?> listModel = null;
 
     public ListPopupHandler(JList<?> listComp) {
         this.listComp = listComp;
@@ -92,8 +125,33 @@ public class ListPopupHandler implements ClipboardActionsHandler {
     }
 
     @Override
-    public void setUpdateListener(ClipboardActionsUpdateListener updateListener) {
-        // Ignore
+    public void setUpdateListener(@Nullable ClipboardActionsUpdateListener updateListener) {
+        if (updateSupport.setUpdateListener(updateListener)) {
+            if (updateListener != null) {
+                listComp.addListSelectionListener(selectionListener);
+                listComp.addPropertyChangeListener(propertyListener);
+                listModel = listComp.getModel();
+                listModel.addListDataListener(dataListener);
+            } else {
+                listComp.removeListSelectionListener(selectionListener);
+                listComp.removePropertyChangeListener(propertyListener);
+                listModel.removeListDataListener(dataListener);
+                listModel = null;
+            }
+        }
+    }
+
+    private void listPropertyChanged(PropertyChangeEvent evt) {
+        String propertyName = evt.getPropertyName();
+        if (MODEL_PROPERTY.equals(propertyName)) {
+            listModel.removeListDataListener(dataListener);
+            listModel = listComp.getModel();
+            listModel.addListDataListener(dataListener);
+        } else if (!ENABLED_PROPERTY.equals(propertyName) && !SELECTION_MODE_PROPERTY.equals(propertyName)) {
+            return;
+        }
+
+        updateSupport.notifyStateChanged();
     }
 
     @Override
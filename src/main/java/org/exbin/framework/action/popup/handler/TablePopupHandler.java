@@ -16,11 +16,18 @@
 package org.exbin.framework.action.popup.handler;
 
 import java.awt.datatransfer.StringSelection;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
+import javax.swing.event.ListSelectionListener;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableModel;
 import org.exbin.framework.utils.ClipboardActionsHandler;
 import org.exbin.framework.utils.ClipboardActionsUpdateListener;
+import org.exbin.framework.utils.ClipboardActionsUpdateSupport;
 import org.exbin.framework.utils.ClipboardUtils;
 
 /**
@@ -31,7 +38,19 @@ import org.exbin.framework.utils.ClipboardUtils;
 @ParametersAreNonnullByDefault
 public class TablePopupHandler implements ClipboardActionsHandler {
 
+    private static final String MODEL_PROPERTY = "model";
+    private static final String SELECTION_MODEL_PROPERTY = "selectionModel";
+    private static final String COLUMN_MODEL_PROPERTY = "columnModel";
+    private static final String ENABLED_PROPERTY = "enabled";
+
     private final JTable tableComp;
+    private final ClipboardActionsUpdateSupport updateSupport = new ClipboardActionsUpdateSupport();
+    private final ListSelectionListener selectionListener = e -> updateSupport.notifyStateChanged();
+    private final TableModelListener modelListener = e -> updateSupport.notifyStateChanged();
+    private final PropertyChangeListener propertyListener = this::tablePropertyChanged;
+    private ListSelectionModel rowSelectionModel = null;
+    private ListSelectionModel columnSelectionModel = null;
+    private TableModel tableModel = null;
 
     public TablePopupHandler(JTable tableComp) {
         this.tableComp = tableComp;
@@ -113,8 +132,68 @@ public class TablePopupHandler implements ClipboardActionsHandler {
     }
 
     @Override
-    public void setUpdateListener(ClipboardActionsUpdateListener updateListener) {
-        // Ignore
+    public void setUpdateListener(@Nullable ClipboardActionsUpdateListener updateListener) {
+        if (updateSupport.setUpdateListener(updateListener)) {
+            if (updateListener != null) {
+                tableComp.addPropertyChangeListener(propertyListener);
+                attachRowSelectionModel();
+                attachColumnSelectionModel();
+                attachTableModel();
+            } else {
+                tableComp.removePropertyChangeListener(propertyListener);
+                detachRowSelectionModel();
+                detachColumnSelectionModel();
+                detachTableModel();
+            }
+        }
+    }
+
+    private void tablePropertyChanged(PropertyChangeEvent evt) {
+        String propertyName = evt.getPropertyName();
+        if (MODEL_PROPERTY.equals(propertyName)) {
+            detachTableModel();
+            attachTableModel();
+        } else if (SELECTION_MODEL_PROPERTY.equals(propertyName)) {
+            detachRowSelectionModel();
+            attachRowSelectionModel();
+        } else if (COLUMN_MODEL_PROPERTY.equals(propertyName)) {
+            detachColumnSelectionModel();
+            attachColumnSelectionModel();
+        } else if (!ENABLED_PROPERTY.equals(propertyName)) {
+            return;
+        }
+
+        updateSupport.notifyStateChanged();
+    }
+
+    private void attachRowSelectionModel() {
+        rowSelectionModel = tableComp.getSelectionModel();
+        rowSelectionModel.addListSelectionListener(selectionListener);
+    }
+
+    private void detachRowSelectionModel() {
+        rowSelectionModel.removeListSelectionListener(selectionListener);
+        rowSelectionModel = null;
+    }
+
+    private void attachColumnSelectionModel() {
+        columnSelectionModel = tableComp.getColumnModel().getSelectionModel();
+        columnSelectionModel.addListSelectionListener(selectionListener);
+    }
+
+    private void detachColumnSelectionModel() {
+        columnSelectionModel.removeListSelectionListener(selectionListener);
+        columnSelectionModel = null;
+    }
+
+    private void attachTableModel() {
+        tableModel = tableComp.getModel();
+        tableModel.addTableModelListener(modelListener);
+    }
+
+    private void detachTableModel() {
+        tableModel.removeTableModelListener(modelListener);
+        tableModel = null;
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package org.exbin.framework.action.popup.handler;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.SwingUtilities;
 import javax.swing.text.DefaultEditorKit;
@@ -22,6 +23,7 @@ import javax.swing.text.JTextComponent;
 import org.exbin.framework.utils.ActionUtils;
 import org.exbin.framework.utils.ClipboardActionsHandler;
 import org.exbin.framework.utils.ClipboardActionsUpdateListener;
+import org.exbin.framework.utils.ClipboardActionsUpdateSupport;
 
 /**
  * Popup handler for text component.
@@ -32,9 +34,12 @@ import org.exbin.framework.utils.ClipboardActionsUpdateListener;
 public class TextComponentPopupHandler implements ClipboardActionsHandler {
 
     private final JTextComponent txtComp;
+    private final ClipboardActionsUpdateSupport updateSupport = new ClipboardActionsUpdateSupport();
+    private final TextComponentStateListener stateListener;
 
     public TextComponentPopupHandler(JTextComponent txtComp) {
         this.txtComp = txtComp;
+        stateListener = new TextComponentStateListener(txtComp, updateSupport);
     }
 
     @Override
@@ -85,8 +90,14 @@ public class TextComponentPopupHandler implements ClipboardActionsHandler {
     }
 
     @Override
-    public void setUpdateListener(ClipboardActionsUpdateListener updateListener) {
-        // Ignore
+    public void setUpdateListener(@Nullable ClipboardActionsUpdateListener updateListener) {
+        if (updateSupport.setUpdateListener(updateListener)) {
+            if (updateListener != null) {
+                stateListener.attach();
+            } else {
+                stateListener.detach();
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.action.popup.handler;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.event.CaretEvent;
+import javax.swing.event.CaretListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+import org.exbin.framework.utils.ClipboardActionsUpdateSupport;
+
+/**
+ * Listener for changes of text component state affecting clipboard actions.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class TextComponentStateListener implements CaretListener, DocumentListener, PropertyChangeListener {
+
+    private static final String DOCUMENT_PROPERTY = "document";
+    private static final String EDITABLE_PROPERTY = "editable";
+    private static final String ENABLED_PROPERTY = "enabled";
+
+    private final JTextComponent textComponent;
+    private final ClipboardActionsUpdateSupport updateSupport;
+    private Document document = null;
+
+    public TextComponentStateListener(JTextComponent textComponent, ClipboardActionsUpdateSupport updateSupport) {
+        this.textComponent = textComponent;
+        this.updateSupport = updateSupport;
+    }
+
+    public void attach() {
+        textComponent.addCaretListener(this);
+        textComponent.addPropertyChangeListener(this);
+        document = textComponent.getDocument();
+        document.addDocumentListener(this);
+    }
+
+    public void detach() {
+        textComponent.removeCaretListener(this);
+        textComponent.removePropertyChangeListener(this);
+        if (document != null) {
+            document.removeDocumentListener(this);
+            document = null;
+        }
+    }
+
+    @Override
+    public void caretUpdate(CaretEvent e) {
+        updateSupport.notifyStateChanged();
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        updateSupport.notifyStateChanged();
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        updateSupport.notifyStateChanged();
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // Attribute changes don't affect clipboard actions
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        String propertyName = evt.getPropertyName();
+        if (DOCUMENT_PROPERTY.equals(propertyName)) {
+            if (document != null) {
+                document.removeDocumentListener(this);
+            }
+            document = textComponent.getDocument();
+            document.addDocumentListener(this);
+            updateSupport.notifyStateChanged();
+        } else if (EDITABLE_PROPERTY.equals(propertyName) || ENABLED_PROPERTY.equals(propertyName)) {
+            updateSupport.notifyStateChanged();
+        }
+    }
+}
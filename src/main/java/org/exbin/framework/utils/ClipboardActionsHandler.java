@@ -15,6 +15,7 @@
  */
 package org.exbin.framework.utils;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 /**
@@ -88,8 +89,11 @@ public interface ClipboardActionsHandler {
 
     /**
      * Sets listener for clipboard actions related updates.
+     * <p>
+     * Handler attaches listeners to its component while update listener is
+     * set, null must be passed to detach them when handler is no longer used.
      *
-     * @param updateListener update listener
+     * @param updateListener update listener or null to remove
      */
-    void setUpdateListener(ClipboardActionsUpdateListener updateListener);
+    void setUpdateListener(@Nullable ClipboardActionsUpdateListener updateListener);
 }
@@ -15,6 +15,7 @@
  */
 package org.exbin.framework.utils;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 /**
@@ -72,6 +73,6 @@ public class ClipboardActionsHandlerEmpty implements ClipboardActionsHandler {
     }
 
     @Override
-    public void setUpdateListener(ClipboardActionsUpdateListener updateListener) {
+    public void setUpdateListener(@Nullable ClipboardActionsUpdateListener updateListener) {
     }
 }
@@ -23,7 +23,7 @@ package org.exbin.framework.utils;
 public interface ClipboardActionsUpdateListener {
 
     /**
-     * Notify about change in undo state.
+     * Notify about change in clipboard actions state.
      */
     void stateChanged();
 }
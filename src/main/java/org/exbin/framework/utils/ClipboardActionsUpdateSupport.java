@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.utils;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.Timer;
+
+/**
+ * Support for notification of clipboard actions update listener.
+ * <p>
+ * Burst of state changes (like typing or dragging selection) is coalesced
+ * into single notification.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ClipboardActionsUpdateSupport {
+
+    public static final int DEFAULT_UPDATE_DELAY = 50;
+
+    private final Timer updateTimer;
+    private ClipboardActionsUpdateListener updateListener = null;
+
+    public ClipboardActionsUpdateSupport() {
+        this(DEFAULT_UPDATE_DELAY);
+    }
+
+    public ClipboardActionsUpdateSupport(int updateDelay) {
+        updateTimer = new Timer(updateDelay, e -> {
+            if (updateListener != null) {
+                updateListener.stateChanged();
+            }
+        });
+        updateTimer.setRepeats(false);
+    }
+
+    @Nullable
+    public ClipboardActionsUpdateListener getUpdateListener() {
+        return updateListener;
+    }
+
+    /**
+     * Sets update listener.
+     *
+     * @param updateListener update listener or null to stop notifications
+     * @return true if state of attachment changed - listener was set while
+     * none was set before or listener was removed
+     */
+    public boolean setUpdateListener(@Nullable ClipboardActionsUpdateListener updateListener) {
+        boolean wasAttached = this.updateListener != null;
+        this.updateListener = updateListener;
+        if (updateListener == null) {
+            updateTimer.stop();
+        }
+        return wasAttached != (updateListener != null);
+    }
+
+    /**
+     * Schedules notification of the update listener.
+     */
+    public void notifyStateChanged() {
+        if (updateListener != null) {
+            updateTimer.restart();
+        }
+    }
+}
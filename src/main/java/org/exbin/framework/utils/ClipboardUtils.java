@@ -23,6 +23,10 @@ import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.Transferable;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -34,6 +38,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class ClipboardUtils {
 
+    private static final String URI_LIST_MIME_TYPE = "text/uri-list;class=java.lang.String";
     private static Clipboard clipboard = null;
 
     private ClipboardUtils() {
@@ -62,6 +67,88 @@ public class ClipboardUtils {
         ClipboardUtils.getClipboard().setContents(trans, trans);
     }
 
+    /**
+     * Copies given lines to clipboard.
+     * <p>
+     * Text is joined only when clipboard content is actually requested.
+     *
+     * @param lines lines of text
+     */
+    public static void copyLines(Collection<String> lines) {
+        TransferableLines trans = new TransferableLines(lines);
+        ClipboardUtils.getClipboard().setContents(trans, trans);
+    }
+
+    @ParametersAreNonnullByDefault
+    private static class TransferableLines implements Transferable, ClipboardOwner {
+
+        private static DataFlavor uriListFlavor = null;
+
+        static {
+            try {
+                uriListFlavor = new DataFlavor(URI_LIST_MIME_TYPE);
+            } catch (ClassNotFoundException ex) {
+                Logger.getLogger(ClipboardUtils.class.getName()).log(Level.WARNING, null, ex);
+            }
+        }
+
+        private final Collection<String> lines;
+        private String text = null;
+        private String uriListText = null;
+
+        public TransferableLines(Collection<String> lines) {
+            this.lines = lines;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized Object getTransferData(DataFlavor flavor) throws UnsupportedFlavorException, IOException {
+            if (flavor.equals(DataFlavor.stringFlavor)) {
+                if (text == null) {
+                    text = joinLines(System.getProperty("line.separator"));
+                }
+                return text;
+            } else if (flavor.equals(uriListFlavor)) {
+                if (uriListText == null) {
+                    // Uri list format requires CRLF line terminator
+                    uriListText = joinLines("\r\n");
+                }
+                return uriListText;
+            }
+
+            throw new UnsupportedFlavorException(flavor);
+        }
+
+        @Nonnull
+        private String joinLines(String separator) {
+            StringBuilder builder = new StringBuilder();
+            Iterator<String> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                builder.append(iterator.next());
+                if (iterator.hasNext()) {
+                    builder.append(separator);
+                }
+            }
+            return builder.toString();
+        }
+
+        @Nonnull
+        @Override
+        public DataFlavor[] getTransferDataFlavors() {
+            return uriListFlavor == null ? new DataFlavor[]{DataFlavor.stringFlavor} : new DataFlavor[]{DataFlavor.stringFlavor, uriListFlavor};
+        }
+
+        @Override
+        public boolean isDataFlavorSupported(DataFlavor flavor) {
+            return DataFlavor.stringFlavor.equals(flavor) || (uriListFlavor != null && uriListFlavor.equals(flavor));
+        }
+
+        @Override
+        public void lostOwnership(Clipboard clipboard, Transferable contents) {
+            // ignore
+        }
+    }
+
     @ParametersAreNonnullByDefault
     private static class TransferableImage implements Transferable, ClipboardOwner {
 
@@ -21,24 +21,114 @@ import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.JOptionPane;
-import javax.swing.SwingUtilities;
 
+/**
+ * Desktop utilities for opening of URLs.
+ * <p>
+ * Browser discovery and launching is performed by background launcher
+ * thread, so no process is started or waited for on the event dispatch
+ * thread.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
 @ParametersAreNonnullByDefault
 public class DesktopUtils {
 
     private static final String ERROR_MESSAGE = "Error attempting to launch web browser";
     private static final String OS_NAME = "os.name";
+    private static final String[] UNIX_BROWSERS = {"firefox", "opera", "konqueror", "epiphany", "mozilla", "netscape"};
+
+    private static final ExecutorService LAUNCHER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DesktopUtils URL Launcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Accessed only from launcher thread
+    private static boolean browserDiscovered = false;
+    private static String unixBrowser = null;
 
     private DesktopUtils() {
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Starts discovery of the web browser in background so that first opening
+     * of URL doesn't have to wait for it.
+     */
+    public static void discoverBrowser() {
+        LAUNCHER.execute(DesktopUtils::getUnixBrowser);
+    }
+
+    /**
+     * Opens URL using operating system specific method.
+     *
+     * @param url URL
+     */
     public static void openOsURL(String url) {
+        LAUNCHER.execute(() -> launchOsURL(url));
+    }
+
+    public static void openDesktopURL(final String url) {
+        LAUNCHER.execute(() -> {
+            try {
+                if (browseDesktop(new URI(url))) {
+                    return;
+                }
+            } catch (URISyntaxException ex) {
+                Logger.getLogger(DesktopUtils.class.getName()).log(Level.SEVERE, null, ex);
+            }
+
+            launchOsURL(url);
+        });
+    }
+
+    public static void openDesktopURL(final URI uri) {
+        LAUNCHER.execute(() -> {
+            if (!browseDesktop(uri)) {
+                launchOsURL(uri.toString());
+            }
+        });
+    }
+
+    public static void openDesktopURL(final URL url) {
+        LAUNCHER.execute(() -> {
+            try {
+                if (browseDesktop(url.toURI())) {
+                    return;
+                }
+            } catch (URISyntaxException ex) {
+                Logger.getLogger(DesktopUtils.class.getName()).log(Level.SEVERE, null, ex);
+            }
+
+            launchOsURL(url.toString());
+        });
+    }
+
+    private static boolean browseDesktop(URI uri) {
+        if (Desktop.isDesktopSupported()) {
+            Desktop desktop = Desktop.getDesktop();
+            if (desktop.isSupported(Desktop.Action.BROWSE)) {
+                try {
+                    desktop.browse(uri);
+                    return true;
+                } catch (IOException ex) {
+                    Logger.getLogger(DesktopUtils.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void launchOsURL(String url) {
         // Inspired by "Bare Bones Browser Launch"
         OsType basicOs = detectBasicOs();
         try {
@@ -49,17 +139,11 @@ public class DesktopUtils {
                     openURL.invoke(null, new Object[]{url});
                     break;
                 case WINDOWS:
-                    Runtime.getRuntime().exec("rundll32 url.dll,FileProtocolHandler " + url);
+                    Runtime.getRuntime().exec(new String[]{"rundll32", "url.dll,FileProtocolHandler", url});
                     break;
                 default:
                     // Assume Unix or Linux
-                    String[] browsers = {"firefox", "opera", "konqueror", "epiphany", "mozilla", "netscape"};
-                    String browser = null;
-                    for (int count = 0; count < browsers.length && browser == null; count++) {
-                        if (Runtime.getRuntime().exec(new String[]{"which", browsers[count]}).waitFor() == 0) {
-                            browser = browsers[count];
-                        }
-                    }
+                    String browser = getUnixBrowser();
                     if (browser == null) {
                         throw new Exception("Could not find web browser");
                     } else {
@@ -68,64 +152,35 @@ public class DesktopUtils {
                     break;
             }
         } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, ERROR_MESSAGE + ":\n" + e.getLocalizedMessage());
+            Logger.getLogger(DesktopUtils.class.getName()).log(Level.WARNING, ERROR_MESSAGE, e);
         }
     }
 
-    public static void openDesktopURL(final String url) {
-        SwingUtilities.invokeLater(() -> {
-            if (Desktop.isDesktopSupported()) {
-                Desktop desktop = Desktop.getDesktop();
-                if (desktop.isSupported(Desktop.Action.BROWSE)) {
-                    try {
-                        java.net.URI uri = new java.net.URI(url);
-                        desktop.browse(uri);
-                        return;
-                    } catch (IOException | URISyntaxException ex) {
-                        Logger.getLogger(DesktopUtils.class.getName()).log(Level.SEVERE, null, ex);
-                    }
-                }
+    @Nullable
+    private static String getUnixBrowser() {
+        if (!browserDiscovered) {
+            browserDiscovered = true;
+            OsType basicOs = detectBasicOs();
+            if (basicOs == OsType.MACOSX || basicOs == OsType.WINDOWS) {
+                return null;
             }
 
-            DesktopUtils.openOsURL(url);
-        });
-    }
-
-    public static void openDesktopURL(final URI uri) {
-        SwingUtilities.invokeLater(() -> {
-            if (Desktop.isDesktopSupported()) {
-                Desktop desktop = Desktop.getDesktop();
-                if (desktop.isSupported(Desktop.Action.BROWSE)) {
-                    try {
-                        desktop.browse(uri);
-                        return;
-                    } catch (IOException ex) {
-                        Logger.getLogger(DesktopUtils.class.getName()).log(Level.SEVERE, null, ex);
-                    }
-                }
-            }
-
-            DesktopUtils.openOsURL(uri.toString());
-        });
-    }
-
-    public static void openDesktopURL(final URL url) {
-        SwingUtilities.invokeLater(() -> {
-            if (Desktop.isDesktopSupported()) {
-                Desktop desktop = Desktop.getDesktop();
-                if (desktop.isSupported(Desktop.Action.BROWSE)) {
-                    try {
-                        java.net.URI uri = url.toURI();
-                        desktop.browse(uri);
-                        return;
-                    } catch (IOException | URISyntaxException ex) {
-                        Logger.getLogger(DesktopUtils.class.getName()).log(Level.SEVERE, null, ex);
+            for (String browser : UNIX_BROWSERS) {
+                try {
+                    if (Runtime.getRuntime().exec(new String[]{"which", browser}).waitFor() == 0) {
+                        unixBrowser = browser;
+                        break;
                     }
+                } catch (IOException ex) {
+                    Logger.getLogger(DesktopUtils.class.getName()).log(Level.FINE, null, ex);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
                 }
             }
+        }
 
-            DesktopUtils.openOsURL(url.toString());
-        });
+        return unixBrowser;
     }
 
     /**
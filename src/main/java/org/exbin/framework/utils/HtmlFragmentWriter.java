@@ -0,0 +1,618 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.framework.utils;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
+import javax.swing.text.Segment;
+import javax.swing.text.StyleConstants;
+import javax.swing.text.html.HTML;
+import javax.swing.text.html.HTMLDocument;
+
+/**
+ * Streaming writer of range of HTML document as sanitized HTML fragment or
+ * Markdown.
+ * <p>
+ * Only elements intersecting given range are visited and text is read
+ * directly from document content without copying whole document. Caller
+ * should hold read lock of the document, see
+ * {@link HTMLDocument#render(Runnable)}.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class HtmlFragmentWriter {
+
+    private final HTMLDocument document;
+    private final int startOffset;
+    private final int endOffset;
+    private final Format format;
+    private final Appendable out;
+
+    private final Segment segment = new Segment();
+    private final Deque<ListState> lists = new ArrayDeque<>();
+    private String openLink = null;
+    private final StringBuilder linePrefix = new StringBuilder();
+    private int pendingNewLines = 0;
+    private boolean contentWritten = false;
+    private int preformatted = 0;
+    private int preformattedNewLines = 0;
+    private int quoteLevel = 0;
+    private int tableRow = -1;
+    private int tableColumns = 0;
+
+    public HtmlFragmentWriter(HTMLDocument document, int startOffset, int endOffset, Format format, Appendable out) {
+        this.document = document;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.format = format;
+        this.out = out;
+    }
+
+    /**
+     * Writes given range of the document in requested format.
+     *
+     * @param document HTML document
+     * @param startOffset start offset
+     * @param endOffset end offset
+     * @param format output format
+     * @param out output
+     * @throws IOException if output fails
+     * @throws BadLocationException if range is invalid
+     */
+    public static void write(HTMLDocument document, int startOffset, int endOffset, Format format, Appendable out) throws IOException, BadLocationException {
+        new HtmlFragmentWriter(document, startOffset, endOffset, format, out).write();
+    }
+
+    public void write() throws IOException, BadLocationException {
+        if (startOffset >= endOffset) {
+            return;
+        }
+
+        writeElement(document.getDefaultRootElement());
+        closeLink();
+        if (format == Format.MARKDOWN && contentWritten) {
+            out.append('\n');
+        }
+    }
+
+    private void writeElement(Element element) throws IOException, BadLocationException {
+        if (element.getStartOffset() >= endOffset || element.getEndOffset() <= startOffset) {
+            return;
+        }
+
+        AttributeSet attributes = element.getAttributes();
+        Object name = attributes.getAttribute(StyleConstants.NameAttribute);
+        HTML.Tag tag = name instanceof HTML.Tag ? (HTML.Tag) name : null;
+        if (element.isLeaf()) {
+            writeLeaf(element, tag, attributes);
+            return;
+        }
+
+        if (tag == HTML.Tag.HEAD || tag == HTML.Tag.SCRIPT || tag == HTML.Tag.STYLE || tag == HTML.Tag.TITLE) {
+            return;
+        }
+
+        startBranch(tag);
+        int count = element.getElementCount();
+        for (int i = 0; i < count; i++) {
+            writeElement(element.getElement(i));
+        }
+        endBranch(tag);
+    }
+
+    private void writeLeaf(Element element, @Nullable HTML.Tag tag, AttributeSet attributes) throws IOException, BadLocationException {
+        if (tag == HTML.Tag.CONTENT) {
+            int start = Math.max(element.getStartOffset(), startOffset);
+            int end = Math.min(element.getEndOffset(), endOffset);
+            document.getText(start, end - start, segment);
+            writeContent(segment, attributes);
+        } else if (tag == HTML.Tag.IMG) {
+            String src = getStringAttribute(attributes, HTML.Attribute.SRC);
+            if (src == null || isUnsafeUrl(src)) {
+                return;
+            }
+            String alt = getStringAttribute(attributes, HTML.Attribute.ALT);
+            startInline();
+            if (format == Format.HTML) {
+                out.append("<img src=\"");
+                appendEscapedHtml(src, true);
+                out.append('"');
+                if (alt != null) {
+                    out.append(" alt=\"");
+                    appendEscapedHtml(alt, true);
+                    out.append('"');
+                }
+                out.append('>');
+            } else {
+                out.append("![");
+                appendEscapedMarkdown(alt == null ? "" : alt);
+                out.append("](");
+                appendMarkdownUrl(src);
+                out.append(')');
+            }
+        } else if (tag == HTML.Tag.BR) {
+            startInline();
+            out.append(format == Format.HTML ? "<br>" : "  \n");
+        }
+    }
+
+    private void writeContent(Segment text, AttributeSet attributes) throws IOException {
+        int start = text.offset;
+        int end = text.offset + text.count;
+        // Line breaks of paragraphs are represented by block structure
+        int newLines = 0;
+        while (end > start && text.array[end - 1] == '\n') {
+            end--;
+            newLines++;
+        }
+        if (start == end) {
+            preformattedNewLines += newLines;
+            return;
+        }
+
+        String href = null;
+        Object anchor = attributes.getAttribute(HTML.Tag.A);
+        if (anchor instanceof AttributeSet) {
+            href = getStringAttribute((AttributeSet) anchor, HTML.Attribute.HREF);
+            if (href != null && isUnsafeUrl(href)) {
+                href = null;
+            }
+        }
+
+        startInline();
+        if (preformatted > 0) {
+            for (int i = 0; i < preformattedNewLines; i++) {
+                out.append('\n');
+            }
+            preformattedNewLines = newLines;
+            if (format == Format.HTML) {
+                appendEscapedHtml(text.array, start, end, false);
+            } else {
+                out.append(text, start - text.offset, end - text.offset);
+            }
+            return;
+        }
+
+        if (href == null ? openLink != null : !href.equals(openLink)) {
+            closeLink();
+            if (href != null) {
+                openLink = href;
+                if (format == Format.HTML) {
+                    out.append("<a href=\"");
+                    appendEscapedHtml(href, true);
+                    out.append("\">");
+                } else {
+                    out.append('[');
+                }
+            }
+        }
+
+        // Keep surrounding whitespace outside of inline markers
+        int textStart = start;
+        while (textStart < end && Character.isWhitespace(text.array[textStart])) {
+            textStart++;
+        }
+        int textEnd = end;
+        while (textEnd > textStart && Character.isWhitespace(text.array[textEnd - 1])) {
+            textEnd--;
+        }
+        appendSpaces(textStart - start);
+        if (textStart < textEnd) {
+            String markers = getInlineMarkers(attributes);
+            if (format == Format.HTML) {
+                for (int i = 0; i < markers.length(); i++) {
+                    out.append('<').append(getHtmlInlineTag(markers.charAt(i))).append('>');
+                }
+                appendEscapedHtml(text.array, textStart, textEnd, false);
+                for (int i = markers.length() - 1; i >= 0; i--) {
+                    out.append("</").append(getHtmlInlineTag(markers.charAt(i))).append('>');
+                }
+            } else {
+                String markdownMarkers = getMarkdownMarkers(markers);
+                out.append(markdownMarkers);
+                if (markers.indexOf('c') >= 0) {
+                    out.append(text, textStart - text.offset, textEnd - text.offset);
+                } else {
+                    appendEscapedMarkdown(text.array, textStart, textEnd);
+                }
+                out.append(new StringBuilder(markdownMarkers).reverse());
+            }
+        }
+        appendSpaces(end - textEnd);
+    }
+
+    private void startBranch(@Nullable HTML.Tag tag) throws IOException {
+        if (tag == null) {
+            return;
+        }
+
+        if (tag == HTML.Tag.UL || tag == HTML.Tag.OL) {
+            lists.push(new ListState(tag == HTML.Tag.OL));
+            startBlock(tag, lists.size() == 1 ? 2 : 1);
+        } else if (tag == HTML.Tag.LI) {
+            ListState list = lists.peek();
+            if (list != null) {
+                list.counter++;
+            }
+            startBlock(tag, 1);
+            if (format == Format.MARKDOWN) {
+                for (int i = 1; i < lists.size(); i++) {
+                    linePrefix.append("    ");
+                }
+                linePrefix.append(list != null && list.ordered ? list.counter + ". " : "- ");
+            }
+        } else if (tag == HTML.Tag.PRE) {
+            startBlock(tag, 2);
+            preformatted++;
+            preformattedNewLines = 0;
+            if (format == Format.MARKDOWN) {
+                linePrefix.append("```\n");
+            }
+        } else if (tag == HTML.Tag.BLOCKQUOTE) {
+            startBlock(tag, 2);
+            quoteLevel++;
+        } else if (tag == HTML.Tag.TABLE) {
+            startBlock(tag, 2);
+            tableRow = -1;
+        } else if (tag == HTML.Tag.TR) {
+            tableRow++;
+            tableColumns = 0;
+            startBlock(tag, 1);
+            if (format == Format.MARKDOWN) {
+                linePrefix.append('|');
+            }
+        } else if (tag == HTML.Tag.TD || tag == HTML.Tag.TH) {
+            tableColumns++;
+            if (format == Format.HTML) {
+                out.append('<').append(tag.toString()).append('>');
+            } else {
+                linePrefix.append(' ');
+            }
+        } else if (isParagraph(tag) || isHeading(tag)) {
+            if (isInlineParagraph(tag)) {
+                return;
+            }
+            startBlock(tag, 2);
+            if (format == Format.MARKDOWN && isHeading(tag)) {
+                int level = getHeadingLevel(tag);
+                for (int i = 0; i < level; i++) {
+                    linePrefix.append('#');
+                }
+                linePrefix.append(' ');
+            }
+        }
+    }
+
+    private void endBranch(@Nullable HTML.Tag tag) throws IOException {
+        if (tag == null) {
+            return;
+        }
+
+        if (tag == HTML.Tag.UL || tag == HTML.Tag.OL) {
+            lists.pop();
+            endBlock(tag, lists.isEmpty() ? 2 : 1);
+        } else if (tag == HTML.Tag.LI) {
+            endBlock(tag, 1);
+        } else if (tag == HTML.Tag.PRE) {
+            preformatted--;
+            preformattedNewLines = 0;
+            if (format == Format.MARKDOWN && linePrefix.length() == 0) {
+                out.append("\n```");
+            }
+            endBlock(tag, 2);
+        } else if (tag == HTML.Tag.BLOCKQUOTE) {
+            quoteLevel--;
+            endBlock(tag, 2);
+        } else if (tag == HTML.Tag.TABLE) {
+            tableRow = -1;
+            endBlock(tag, 2);
+        } else if (tag == HTML.Tag.TR) {
+            int columns = tableColumns;
+            endBlock(tag, 1);
+            if (format == Format.MARKDOWN && tableRow == 0 && linePrefix.length() == 0) {
+                out.append('\n').append('|');
+                for (int i = 0; i < columns; i++) {
+                    out.append(" --- |");
+                }
+            }
+        } else if (tag == HTML.Tag.TD || tag == HTML.Tag.TH) {
+            closeLink();
+            if (format == Format.HTML) {
+                out.append("</").append(tag.toString()).append('>');
+            } else {
+                startInline();
+                out.append(" |");
+            }
+        } else if (isParagraph(tag) || isHeading(tag)) {
+            if (isInlineParagraph(tag)) {
+                return;
+            }
+            endBlock(tag, 2);
+        }
+    }
+
+    private boolean isInlineParagraph(HTML.Tag tag) {
+        // Content of table cells, list items and preformatted text is kept inline
+        return (tableRow >= 0 && tableColumns > 0) || preformatted > 0 || (tag == HTML.Tag.IMPLIED && !lists.isEmpty());
+    }
+
+    private void startBlock(HTML.Tag tag, int newLines) throws IOException {
+        closeLink();
+        if (format == Format.HTML) {
+            if (tag != HTML.Tag.IMPLIED) {
+                out.append('<').append(tag.toString()).append('>');
+            }
+            return;
+        }
+
+        if (contentWritten) {
+            pendingNewLines = Math.max(pendingNewLines, newLines);
+        }
+        // Prefix of block without any content in range is dropped
+        linePrefix.setLength(0);
+    }
+
+    private void endBlock(HTML.Tag tag, int newLines) throws IOException {
+        closeLink();
+        if (format == Format.HTML) {
+            if (tag != HTML.Tag.IMPLIED) {
+                out.append("</").append(tag.toString()).append('>');
+            }
+            return;
+        }
+
+        linePrefix.setLength(0);
+        if (contentWritten) {
+            pendingNewLines = Math.max(pendingNewLines, newLines);
+        }
+    }
+
+    private void startInline() throws IOException {
+        if (format == Format.HTML) {
+            return;
+        }
+
+        if (pendingNewLines > 0) {
+            for (int i = 0; i < pendingNewLines; i++) {
+                out.append('\n');
+            }
+            pendingNewLines = 0;
+            for (int i = 0; i < quoteLevel; i++) {
+                out.append("> ");
+            }
+        } else if (!contentWritten) {
+            for (int i = 0; i < quoteLevel; i++) {
+                out.append("> ");
+            }
+        }
+        if (linePrefix.length() > 0) {
+            out.append(linePrefix);
+            linePrefix.setLength(0);
+        }
+        contentWritten = true;
+    }
+
+    private void closeLink() throws IOException {
+        if (openLink != null) {
+            if (format == Format.HTML) {
+                out.append("</a>");
+            } else {
+                out.append("](");
+                appendMarkdownUrl(openLink);
+                out.append(')');
+            }
+            openLink = null;
+        }
+    }
+
+    private void appendSpaces(int count) throws IOException {
+        if (count > 0) {
+            out.append(' ');
+        }
+    }
+
+    @Nonnull
+    private static String getInlineMarkers(AttributeSet attributes) {
+        StringBuilder markers = new StringBuilder(3);
+        if (attributes.isDefined(HTML.Tag.B) || attributes.isDefined(HTML.Tag.STRONG)) {
+            markers.append('b');
+        }
+        if (attributes.isDefined(HTML.Tag.I) || attributes.isDefined(HTML.Tag.EM)) {
+            markers.append('i');
+        }
+        if (attributes.isDefined(HTML.Tag.CODE) || attributes.isDefined(HTML.Tag.TT)) {
+            markers.append('c');
+        }
+        return markers.toString();
+    }
+
+    @Nonnull
+    private static String getHtmlInlineTag(char marker) {
+        switch (marker) {
+            case 'b':
+                return "b";
+            case 'i':
+                return "i";
+            default:
+                return "code";
+        }
+    }
+
+    @Nonnull
+    private static String getMarkdownMarkers(String markers) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < markers.length(); i++) {
+            switch (markers.charAt(i)) {
+                case 'b':
+                    result.append("**");
+                    break;
+                case 'i':
+                    result.append('_');
+                    break;
+                default:
+                    result.append('`');
+                    break;
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isParagraph(HTML.Tag tag) {
+        return tag == HTML.Tag.P || tag == HTML.Tag.IMPLIED || tag == HTML.Tag.DIV;
+    }
+
+    private static boolean isHeading(HTML.Tag tag) {
+        return getHeadingLevel(tag) > 0;
+    }
+
+    private static int getHeadingLevel(HTML.Tag tag) {
+        if (tag == HTML.Tag.H1) {
+            return 1;
+        } else if (tag == HTML.Tag.H2) {
+            return 2;
+        } else if (tag == HTML.Tag.H3) {
+            return 3;
+        } else if (tag == HTML.Tag.H4) {
+            return 4;
+        } else if (tag == HTML.Tag.H5) {
+            return 5;
+        } else if (tag == HTML.Tag.H6) {
+            return 6;
+        }
+        return 0;
+    }
+
+    @Nullable
+    private static String getStringAttribute(AttributeSet attributes, HTML.Attribute attribute) {
+        Object value = attributes.getAttribute(attribute);
+        return value instanceof String ? (String) value : null;
+    }
+
+    private static boolean isUnsafeUrl(String url) {
+        String trimmed = url.trim().toLowerCase();
+        return trimmed.startsWith("javascript:") || trimmed.startsWith("vbscript:");
+    }
+
+    private void appendEscapedHtml(String text, boolean attribute) throws IOException {
+        appendEscapedHtml(text.toCharArray(), 0, text.length(), attribute);
+    }
+
+    private void appendEscapedHtml(char[] text, int start, int end, boolean attribute) throws IOException {
+        for (int i = start; i < end; i++) {
+            char character = text[i];
+            switch (character) {
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '"':
+                    out.append(attribute ? "&quot;" : "\"");
+                    break;
+                default:
+                    out.append(character);
+            }
+        }
+    }
+
+    private void appendEscapedMarkdown(String text) throws IOException {
+        appendEscapedMarkdown(text.toCharArray(), 0, text.length());
+    }
+
+    private void appendEscapedMarkdown(char[] text, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            char character = text[i];
+            switch (character) {
+                case '\\':
+                case '`':
+                case '*':
+                case '_':
+                case '[':
+                case ']':
+                case '<':
+                case '>':
+                case '|':
+                    out.append('\\');
+                    break;
+                case '\n':
+                    out.append(' ');
+                    continue;
+                default:
+                    break;
+            }
+            out.append(character);
+        }
+    }
+
+    private void appendMarkdownUrl(String url) throws IOException {
+        for (int i = 0; i < url.length(); i++) {
+            char character = url.charAt(i);
+            switch (character) {
+                case ' ':
+                    out.append("%20");
+                    break;
+                case '(':
+                    out.append("%28");
+                    break;
+                case ')':
+                    out.append("%29");
+                    break;
+                case '<':
+                    out.append("%3C");
+                    break;
+                case '>':
+                    out.append("%3E");
+                    break;
+                case '\t':
+                case '\n':
+                case '\r':
+                    break;
+                default:
+                    out.append(character);
+            }
+        }
+    }
+
+    /**
+     * Output format.
+     */
+    public enum Format {
+        HTML,
+        MARKDOWN
+    }
+
+    private static class ListState {
+
+        final boolean ordered;
+        int counter = 0;
+
+        public ListState(boolean ordered) {
+            this.ordered = ordered;
+        }
+    }
+}
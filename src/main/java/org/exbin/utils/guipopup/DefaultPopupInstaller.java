@@ -22,6 +22,7 @@ import com.intellij.openapi.startup.StartupActivity;
 import com.intellij.openapi.ui.JBPopupMenu;
 import kotlin.Unit;
 import kotlin.coroutines.Continuation;
+import org.exbin.framework.utils.DesktopUtils;
 import org.exbin.framework.utils.UiUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -47,6 +48,7 @@ public class DefaultPopupInstaller implements StartupActivity.DumbAware, AppLife
         if (!installed) {
             IntelliJDefaultPopupMenu.register();
             UiUtils.setPopupMenuBuilder(JBPopupMenu::new);
+            DesktopUtils.discoverBrowser();
             installed = true;
         }
     }
@@ -17,8 +17,6 @@ package org.exbin.utils.guipopup;
 
 import com.intellij.ide.IdeEventQueue;
 import com.intellij.openapi.Disposable;
-import com.intellij.openapi.project.ProjectManager;
-import com.intellij.openapi.wm.WindowManager;
 import com.intellij.openapi.wm.impl.IdeGlassPaneImpl;
 import com.intellij.ui.HyperlinkLabel;
 import org.exbin.framework.action.popup.DefaultPopupMenu;
@@ -28,8 +26,7 @@ import org.exbin.framework.action.popup.handler.ListPopupHandler;
 import org.exbin.framework.action.popup.handler.TablePopupHandler;
 import org.exbin.framework.action.popup.handler.TextComponentPopupHandler;
 import org.exbin.framework.utils.ComponentPopupEventDispatcher;
-import org.exbin.framework.utils.WindowUtils;
-import org.exbin.utils.guipopup.gui.InspectComponentPanel;
+import org.exbin.utils.guipopup.gui.InspectComponentWindow;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -46,8 +43,6 @@ import javax.swing.text.JTextComponent;
 import java.awt.AWTEvent;
 import java.awt.AWTException;
 import java.awt.Component;
-import java.awt.Dialog;
-import java.awt.Frame;
 import java.awt.KeyboardFocusManager;
 import java.awt.MouseInfo;
 import java.awt.Point;
@@ -172,12 +167,7 @@ public class IntelliJDefaultPopupMenu extends DefaultPopupMenu {
                 if (component == null) {
                     return false;
                 }
-                InspectComponentPanel inspectComponentPanel = new InspectComponentPanel();
-                inspectComponentPanel.setComponent(component, null);
-                Frame mainWindow = WindowManager.getInstance().getFrame(ProjectManager.getInstance().getDefaultProject());
-                final WindowUtils.DialogWrapper dialog = WindowUtils.createDialog(inspectComponentPanel, mainWindow, "Inspect Component", Dialog.ModalityType.MODELESS);
-                inspectComponentPanel.setCloseActionListener(e -> dialog.close());
-                dialog.show();
+                InspectComponentWindow.inspect(component, null);
                 return true;
             }
 
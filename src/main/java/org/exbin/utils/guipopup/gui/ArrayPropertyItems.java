@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.gui;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Virtual read-only list of property items for array elements.
+ * <p>
+ * Items are created on demand by index and only limited number of recently
+ * used items is kept.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ArrayPropertyItems extends AbstractList<PropertyTableItem> implements RandomAccess {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final Object array;
+    private final int length;
+    private final ElementAccessor accessor;
+    private final Map<Integer, PropertyTableItem> cache;
+
+    public ArrayPropertyItems(Object array) {
+        this(array, DEFAULT_CACHE_SIZE);
+    }
+
+    public ArrayPropertyItems(Object array, final int cacheSize) {
+        if (!array.getClass().isArray()) {
+            throw new IllegalArgumentException("Array expected: " + array.getClass().getTypeName());
+        }
+
+        this.array = array;
+        length = Array.getLength(array);
+        accessor = createAccessor(array);
+        cache = new LinkedHashMap<Integer, PropertyTableItem>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, PropertyTableItem> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Nonnull
+    public Object getArray() {
+        return array;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Nonnull
+    @Override
+    public PropertyTableItem get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+
+        PropertyTableItem item = cache.get(index);
+        if (item == null) {
+            item = createItem(index, 0);
+            cache.put(index, item);
+        }
+
+        return item;
+    }
+
+    /**
+     * Creates new item for element without caching it.
+     *
+     * @param index element index
+     * @param depth item depth
+     * @return property item
+     */
+    @Nonnull
+    public PropertyTableItem createItem(int index, int depth) {
+        Object value = accessor.get(index);
+        return new PropertyTableItem(String.valueOf(index), accessor.getTypeName(value), value, depth, () -> accessor.get(index));
+    }
+
+    /**
+     * Returns true if name, type or value text of element contains given
+     * text.
+     * <p>
+     * Element is matched without creating its item.
+     *
+     * @param index element index
+     * @param lowerCaseQuery lowercase text
+     * @return true if element matches
+     */
+    public boolean matches(int index, String lowerCaseQuery) {
+        if (Integer.toString(index).contains(lowerCaseQuery)) {
+            return true;
+        }
+
+        Object value = accessor.get(index);
+        String typeName = accessor.getTypeName(value);
+        if (PropertyFilterIndex.containsIgnoreCase(typeName, lowerCaseQuery)) {
+            return true;
+        }
+
+        if (value == null) {
+            return PropertyFilterIndex.containsIgnoreCase(PropertyTableItem.NULL_VALUE_TEXT, lowerCaseQuery);
+        }
+
+        Object basicType = PropertyTableItem.convertToBasicType(value);
+        return basicType instanceof String && PropertyFilterIndex.containsIgnoreCase((String) basicType, lowerCaseQuery);
+    }
+
+    @Nonnull
+    private static ElementAccessor createAccessor(Object array) {
+        Class<?> componentType = array.getClass().getComponentType();
+        if (!componentType.isPrimitive()) {
+            final Object[] objects = (Object[]) array;
+            return new ElementAccessor() {
+                @Nullable
+                @Override
+                public Object get(int index) {
+                    return objects[index];
+                }
+
+                @Nonnull
+                @Override
+                public String getTypeName(@Nullable Object value) {
+                    return value == null ? "-" : value.getClass().getTypeName();
+                }
+            };
+        }
+
+        String typeName = componentType.getTypeName();
+        if (componentType == byte.class) {
+            byte[] values = (byte[]) array;
+            return new PrimitiveAccessor(typeName, index -> values[index]);
+        } else if (componentType == int.class) {
+            int[] values = (int[]) array;
+            return new PrimitiveAccessor(typeName, index -> values[index]);
+        } else if (componentType == long.class) {
+            long[] values = (long[]) array;
+            return new PrimitiveAccessor(typeName, index -> values[index]);
+        } else if (componentType == char.class) {
+            char[] values = (char[]) array;
+            return new PrimitiveAccessor(typeName, index -> values[index]);
+        } else if (componentType == short.class) {
+            short[] values = (short[]) array;
+            return new PrimitiveAccessor(typeName, index -> values[index]);
+        } else if (componentType == boolean.class) {
+            boolean[] values = (boolean[]) array;
+            return new PrimitiveAccessor(typeName, index -> values[index]);
+        } else if (componentType == float.class) {
+            float[] values = (float[]) array;
+            return new PrimitiveAccessor(typeName, index -> values[index]);
+        } else if (componentType == double.class) {
+            double[] values = (double[]) array;
+            return new PrimitiveAccessor(typeName, index -> values[index]);
+        }
+
+        throw new IllegalStateException("Unexpected component type: " + typeName);
+    }
+
+    private interface ElementAccessor {
+
+        @Nullable
+        Object get(int index);
+
+        @Nonnull
+        String getTypeName(@Nullable Object value);
+    }
+
+    private interface IndexedValue {
+
+        @Nonnull
+        Object get(int index);
+    }
+
+    @ParametersAreNonnullByDefault
+    private static class PrimitiveAccessor implements ElementAccessor {
+
+        private final String typeName;
+        private final IndexedValue indexedValue;
+
+        public PrimitiveAccessor(String typeName, IndexedValue indexedValue) {
+            this.typeName = typeName;
+            this.indexedValue = indexedValue;
+        }
+
+        @Nonnull
+        @Override
+        public Object get(int index) {
+            return indexedValue.get(index);
+        }
+
+        @Nonnull
+        @Override
+        public String getTypeName(@Nullable Object value) {
+            return typeName;
+        }
+    }
+}
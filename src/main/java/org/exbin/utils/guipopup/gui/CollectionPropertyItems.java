@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.gui;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Virtual read-only list of property items for logical content of
+ * collection, map or iterable.
+ * <p>
+ * Source is not copied. Elements of random access lists are read by index on
+ * demand, other sources are iterated only as far as requested rows and at
+ * most up to given limit of entries. Map entries are shown with key as name.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CollectionPropertyItems extends AbstractList<PropertyTableItem> implements RandomAccess {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final String MODIFIED_TEXT = "<modified>";
+
+    private final Object source;
+    private final int size;
+    private final boolean truncated;
+    @Nullable
+    private final List<?> randomAccessList;
+    @Nullable
+    private final Map<Integer, PropertyTableItem> cache;
+    @Nullable
+    private final List<Object> materialized;
+    @Nullable
+    private Iterator<?> iterator;
+
+    public CollectionPropertyItems(Object source, int limit) {
+        this(source, limit, DEFAULT_CACHE_SIZE);
+    }
+
+    public CollectionPropertyItems(Object source, int limit, final int cacheSize) {
+        if (!isSupported(source)) {
+            throw new IllegalArgumentException("Collection, map or iterable expected: " + source.getClass().getTypeName());
+        }
+
+        this.source = source;
+        int sourceSize;
+        if (source instanceof Map) {
+            sourceSize = ((Map<?, ?>) source).size();
+            iterator = ((Map<?, ?>) source).entrySet().iterator();
+        } else if (source instanceof Collection) {
+            sourceSize = ((Collection<?>) source).size();
+            iterator = source instanceof List && source instanceof RandomAccess ? null : ((Collection<?>) source).iterator();
+        } else {
+            // Unknown size, iterate up to limit plus one to detect more entries
+            iterator = ((Iterable<?>) source).iterator();
+            sourceSize = 0;
+            List<Object> entries = new ArrayList<>();
+            try {
+                while (sourceSize <= limit && iterator.hasNext()) {
+                    entries.add(iterator.next());
+                    sourceSize++;
+                }
+            } catch (ConcurrentModificationException | NoSuchElementException ex) {
+                // Show entries read so far
+            }
+            iterator = null;
+            materialized = entries;
+            randomAccessList = null;
+            cache = null;
+            truncated = sourceSize > limit;
+            size = Math.min(sourceSize, limit);
+            return;
+        }
+
+        truncated = sourceSize > limit;
+        size = Math.min(sourceSize, limit);
+        if (iterator == null) {
+            randomAccessList = (List<?>) source;
+            materialized = null;
+            cache = new LinkedHashMap<Integer, PropertyTableItem>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, PropertyTableItem> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        } else {
+            randomAccessList = null;
+            materialized = new ArrayList<>();
+            cache = null;
+        }
+    }
+
+    /**
+     * Returns true if logical view is available for given object.
+     *
+     * @param object inspected object
+     * @return true for collections, maps and other iterables
+     */
+    public static boolean isSupported(@Nullable Object object) {
+        return object instanceof Iterable || object instanceof Map;
+    }
+
+    @Nonnull
+    public Object getSource() {
+        return source;
+    }
+
+    /**
+     * Returns true if source has more entries than shown.
+     *
+     * @return true if truncated
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Returns number of entries of source.
+     *
+     * @return number of entries or -1 if unknown
+     */
+    public int getSourceSize() {
+        if (source instanceof Map) {
+            return ((Map<?, ?>) source).size();
+        }
+        if (source instanceof Collection) {
+            return ((Collection<?>) source).size();
+        }
+        return truncated ? -1 : size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Nonnull
+    @Override
+    public PropertyTableItem get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+
+        if (cache == null) {
+            return createItem(index, 0);
+        }
+
+        PropertyTableItem item = cache.get(index);
+        if (item == null) {
+            item = createItem(index, 0);
+            cache.put(index, item);
+        }
+        return item;
+    }
+
+    /**
+     * Creates new item for entry without caching it.
+     *
+     * @param index entry index
+     * @param depth item depth
+     * @return property item
+     */
+    @Nonnull
+    public PropertyTableItem createItem(int index, int depth) {
+        if (randomAccessList != null) {
+            List<?> list = randomAccessList;
+            Object value = readListElement(list, index);
+            return new PropertyTableItem(String.valueOf(index), getTypeName(value), value, depth, () -> readListElement(list, index));
+        }
+
+        if (!materialize(index)) {
+            return new PropertyTableItem(String.valueOf(index), "", MODIFIED_TEXT, depth);
+        }
+
+        Object entry = materialized.get(index);
+        if (source instanceof Map) {
+            Map.Entry<?, ?> mapEntry = (Map.Entry<?, ?>) entry;
+            Object value = mapEntry.getValue();
+            return new PropertyTableItem(getKeyText(mapEntry.getKey()), getTypeName(value), value, depth, mapEntry::getValue);
+        }
+
+        return new PropertyTableItem(String.valueOf(index), getTypeName(entry), entry, depth, () -> entry);
+    }
+
+    /**
+     * Advances iterator until entry of given index is materialized.
+     *
+     * @param index entry index
+     * @return false if source was modified and entry is not available
+     */
+    private boolean materialize(int index) {
+        while (materialized.size() <= index) {
+            if (iterator == null) {
+                return false;
+            }
+
+            try {
+                if (!iterator.hasNext()) {
+                    iterator = null;
+                    return false;
+                }
+                Object entry = iterator.next();
+                if (source instanceof Map) {
+                    // Entries of some maps are reused by iterator
+                    Map.Entry<?, ?> mapEntry = (Map.Entry<?, ?>) entry;
+                    entry = new EntrySnapshot(mapEntry);
+                }
+                materialized.add(entry);
+            } catch (ConcurrentModificationException | NoSuchElementException ex) {
+                iterator = null;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private static Object readListElement(List<?> list, int index) {
+        try {
+            return list.get(index);
+        } catch (IndexOutOfBoundsException ex) {
+            return MODIFIED_TEXT;
+        }
+    }
+
+    @Nonnull
+    private static String getTypeName(@Nullable Object value) {
+        return value == null ? "-" : value.getClass().getTypeName();
+    }
+
+    @Nonnull
+    private static String getKeyText(@Nullable Object key) {
+        Object basicKey = PropertyTableItem.convertToBasicType(key);
+        String text;
+        if (basicKey == null) {
+            text = "null";
+        } else if (basicKey instanceof String) {
+            text = (String) basicKey;
+        } else if (basicKey instanceof Enum) {
+            text = ((Enum<?>) basicKey).name();
+        } else {
+            text = basicKey.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(basicKey));
+        }
+        return text.length() > MAX_KEY_LENGTH ? text.substring(0, MAX_KEY_LENGTH) + "..." : text;
+    }
+
+    /**
+     * Map entry captured during iteration, value is read through original
+     * entry when possible.
+     */
+    @ParametersAreNonnullByDefault
+    private static class EntrySnapshot implements Map.Entry<Object, Object> {
+
+        private final Object key;
+        private final Map.Entry<?, ?> entry;
+        private final Object value;
+
+        public EntrySnapshot(Map.Entry<?, ?> entry) {
+            this.entry = entry;
+            key = entry.getKey();
+            value = entry.getValue();
+        }
+
+        @Nullable
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Nullable
+        @Override
+        public Object getValue() {
+            try {
+                return entry.getKey() == key ? entry.getValue() : value;
+            } catch (IllegalStateException ex) {
+                return value;
+            }
+        }
+
+        @Nonnull
+        @Override
+        public Object setValue(Object value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
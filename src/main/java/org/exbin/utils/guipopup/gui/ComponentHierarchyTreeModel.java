@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.gui;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.event.EventListenerList;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+
+/**
+ * Component hierarchy tree model.
+ * <p>
+ * Tree covers whole hierarchy from top level ancestor of inspected component.
+ * Children of node are captured on first access, so only expanded nodes are
+ * loaded.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ComponentHierarchyTreeModel implements TreeModel {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final EventListenerList listenerList = new EventListenerList();
+    private Node root = null;
+
+    /**
+     * Sets hierarchy for given object.
+     *
+     * @param object inspected object
+     * @return path to node of given object
+     */
+    @Nonnull
+    public TreePath setObject(Object object) {
+        if (!(object instanceof Component)) {
+            root = new Node(object);
+            fireTreeStructureChanged();
+            return new TreePath(root);
+        }
+
+        List<Component> ancestors = new ArrayList<>();
+        Component component = (Component) object;
+        while (component != null) {
+            ancestors.add(component);
+            component = component.getParent();
+        }
+
+        root = new Node(ancestors.get(ancestors.size() - 1));
+        Object[] path = new Object[ancestors.size()];
+        Node node = root;
+        path[0] = node;
+        for (int i = ancestors.size() - 2; i >= 0; i--) {
+            Node child = node.findChild(ancestors.get(i));
+            if (child == null) {
+                // Hierarchy changed while resolving, stop at last known node
+                Object[] partialPath = new Object[ancestors.size() - 1 - i];
+                System.arraycopy(path, 0, partialPath, 0, partialPath.length);
+                path = partialPath;
+                break;
+            }
+            node = child;
+            path[ancestors.size() - 1 - i] = node;
+        }
+        fireTreeStructureChanged();
+        return new TreePath(path);
+    }
+
+    public void clear() {
+        root = null;
+        fireTreeStructureChanged();
+    }
+
+    @Nullable
+    @Override
+    public Object getRoot() {
+        return root;
+    }
+
+    @Nonnull
+    @Override
+    public Object getChild(Object parent, int index) {
+        return ((Node) parent).getChildren()[index];
+    }
+
+    @Override
+    public int getChildCount(Object parent) {
+        return ((Node) parent).getChildren().length;
+    }
+
+    @Override
+    public boolean isLeaf(Object node) {
+        return ((Node) node).isLeaf();
+    }
+
+    @Override
+    public void valueForPathChanged(TreePath path, Object newValue) {
+        // Not editable
+    }
+
+    @Override
+    public int getIndexOfChild(@Nullable Object parent, @Nullable Object child) {
+        if (parent == null || child == null) {
+            return -1;
+        }
+
+        Node[] children = ((Node) parent).getChildren();
+        for (int i = 0; i < children.length; i++) {
+            if (children[i] == child) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void addTreeModelListener(TreeModelListener listener) {
+        listenerList.add(TreeModelListener.class, listener);
+    }
+
+    @Override
+    public void removeTreeModelListener(TreeModelListener listener) {
+        listenerList.remove(TreeModelListener.class, listener);
+    }
+
+    /**
+     * Returns object of given tree node.
+     *
+     * @param node tree node
+     * @return object
+     */
+    @Nonnull
+    public static Object getNodeObject(Object node) {
+        return ((Node) node).object;
+    }
+
+    private void fireTreeStructureChanged() {
+        TreeModelEvent event = new TreeModelEvent(this, root == null ? (TreePath) null : new TreePath(root));
+        for (TreeModelListener listener : listenerList.getListeners(TreeModelListener.class)) {
+            listener.treeStructureChanged(event);
+        }
+    }
+
+    /**
+     * Tree node with lazily captured children.
+     */
+    @ParametersAreNonnullByDefault
+    private static class Node {
+
+        private final Object object;
+        private Node[] children = null;
+        private String text = null;
+
+        public Node(Object object) {
+            this.object = object;
+        }
+
+        public boolean isLeaf() {
+            if (children != null) {
+                return children.length == 0;
+            }
+
+            return !(object instanceof Container) || ((Container) object).getComponentCount() == 0;
+        }
+
+        @Nonnull
+        public Node[] getChildren() {
+            if (children == null) {
+                if (object instanceof Container) {
+                    Component[] components = ((Container) object).getComponents();
+                    children = new Node[components.length];
+                    for (int i = 0; i < components.length; i++) {
+                        children[i] = new Node(components[i]);
+                    }
+                } else {
+                    children = NO_CHILDREN;
+                }
+            }
+            return children;
+        }
+
+        @Nullable
+        public Node findChild(Component component) {
+            for (Node child : getChildren()) {
+                if (child.object == component) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        @Nonnull
+        @Override
+        public String toString() {
+            if (text == null) {
+                Class<?> clazz = object.getClass();
+                String className = clazz.getCanonicalName();
+                if (className == null) {
+                    className = clazz.getTypeName();
+                }
+                String name = object instanceof Component ? ((Component) object).getName() : null;
+                text = name == null ? className : className + " [" + name + "]";
+            }
+            return text;
+        }
+    }
+}
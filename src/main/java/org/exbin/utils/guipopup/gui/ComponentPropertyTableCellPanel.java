@@ -128,6 +128,10 @@ public class ComponentPropertyTableCellPanel extends javax.swing.JPanel {
         editorButton.addActionListener(actionListener);
     }
 
+    public void setEditorButtonVisible(boolean visible) {
+        editorButton.setVisible(visible);
+    }
+
     @Nonnull
     public JComponent getCellComponent() {
         return cellComponent;
@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.gui;
+
+import java.awt.Component;
+import java.awt.event.ActionListener;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.DefaultListModel;
+import javax.swing.SwingWorker;
+import org.exbin.framework.utils.LanguageUtils;
+import org.exbin.utils.guipopup.inspect.ComponentSearch;
+import org.exbin.utils.guipopup.inspect.ComponentTreeExporter;
+
+/**
+ * Panel for search of components across all windows.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ComponentSearchPanel extends javax.swing.JPanel {
+
+    private final java.util.ResourceBundle resourceBundle = LanguageUtils.getResourceBundleByClass(ComponentSearchPanel.class);
+    private final DefaultListModel<SearchResult> resultsListModel = new DefaultListModel<>();
+    private SearchWorker searchWorker = null;
+
+    public ComponentSearchPanel() {
+        initComponents();
+    }
+
+    /**
+     * Searches all windows for components matching given query.
+     *
+     * @param target searched attribute
+     * @param query searched text
+     */
+    public void search(ComponentSearch.SearchTarget target, String query) {
+        cancelSearch();
+        resultsListModel.clear();
+        if (query.isEmpty()) {
+            statusLabel.setText("");
+            return;
+        }
+
+        ComponentSearch search = new ComponentSearch(target, query);
+        ComponentSearch.Snapshot snapshot = search.capture(ComponentTreeExporter.getAllWindows());
+        statusLabel.setText(String.format(resourceBundle.getString("statusLabel.searchingText"), snapshot.size()));
+        searchWorker = new SearchWorker(search, snapshot);
+        searchWorker.execute();
+    }
+
+    public void cancelSearch() {
+        if (searchWorker != null) {
+            SearchWorker worker = searchWorker;
+            searchWorker = null;
+            worker.cancel(true);
+        }
+    }
+
+    public boolean isSearching() {
+        return searchWorker != null;
+    }
+
+    public void setCloseActionListener(ActionListener listener) {
+        closeButton.addActionListener(listener);
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form.
+     * WARNING: Do NOT modify this code. The content of this method is always
+     * regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        toolsPanel = new javax.swing.JPanel();
+        queryLabel = new javax.swing.JLabel();
+        queryTextField = new javax.swing.JTextField();
+        targetComboBox = new javax.swing.JComboBox<>();
+        searchButton = new javax.swing.JButton();
+        resultsScrollPane = new javax.swing.JScrollPane();
+        resultsList = new javax.swing.JList<>();
+        bottomPanel = new javax.swing.JPanel();
+        statusLabel = new javax.swing.JLabel();
+        closeButton = new javax.swing.JButton();
+
+        setName("Form"); // NOI18N
+        setLayout(new java.awt.BorderLayout());
+
+        toolsPanel.setName("toolsPanel"); // NOI18N
+        toolsPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT));
+
+        queryLabel.setText(resourceBundle.getString("queryLabel.text")); // NOI18N
+        queryLabel.setName("queryLabel"); // NOI18N
+        toolsPanel.add(queryLabel);
+
+        queryTextField.setColumns(25);
+        queryTextField.setToolTipText(resourceBundle.getString("queryTextField.toolTipText")); // NOI18N
+        queryTextField.setName("queryTextField"); // NOI18N
+        queryTextField.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                queryTextFieldActionPerformed(evt);
+            }
+        });
+        toolsPanel.add(queryTextField);
+
+        targetComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(ComponentSearch.SearchTarget.values()));
+        targetComboBox.setName("targetComboBox"); // NOI18N
+        toolsPanel.add(targetComboBox);
+
+        searchButton.setText(resourceBundle.getString("searchButton.text")); // NOI18N
+        searchButton.setName("searchButton"); // NOI18N
+        searchButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                searchButtonActionPerformed(evt);
+            }
+        });
+        toolsPanel.add(searchButton);
+
+        add(toolsPanel, java.awt.BorderLayout.NORTH);
+
+        resultsScrollPane.setName("resultsScrollPane"); // NOI18N
+
+        resultsList.setModel(resultsListModel);
+        resultsList.setSelectionMode(javax.swing.ListSelectionModel.SINGLE_SELECTION);
+        resultsList.setName("resultsList"); // NOI18N
+        resultsList.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseClicked(java.awt.event.MouseEvent evt) {
+                resultsListMouseClicked(evt);
+            }
+        });
+        resultsScrollPane.setViewportView(resultsList);
+
+        add(resultsScrollPane, java.awt.BorderLayout.CENTER);
+
+        bottomPanel.setName("bottomPanel"); // NOI18N
+        bottomPanel.setLayout(new java.awt.BorderLayout());
+
+        statusLabel.setName("statusLabel"); // NOI18N
+        bottomPanel.add(statusLabel, java.awt.BorderLayout.CENTER);
+
+        closeButton.setText(resourceBundle.getString("closeButton.text")); // NOI18N
+        closeButton.setName("closeButton"); // NOI18N
+        bottomPanel.add(closeButton, java.awt.BorderLayout.EAST);
+
+        add(bottomPanel, java.awt.BorderLayout.SOUTH);
+    }// </editor-fold>//GEN-END:initComponents
+
+    private void queryTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_queryTextFieldActionPerformed
+        startSearch();
+    }//GEN-LAST:event_queryTextFieldActionPerformed
+
+    private void searchButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_searchButtonActionPerformed
+        startSearch();
+    }//GEN-LAST:event_searchButtonActionPerformed
+
+    private void resultsListMouseClicked(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_resultsListMouseClicked
+        if (evt.getClickCount() != 2) {
+            return;
+        }
+
+        SearchResult result = resultsList.getSelectedValue();
+        if (result != null) {
+            InspectComponentWindow.inspect(result.component, result.className);
+        }
+    }//GEN-LAST:event_resultsListMouseClicked
+
+    private void startSearch() {
+        search((ComponentSearch.SearchTarget) targetComboBox.getSelectedItem(), queryTextField.getText().trim());
+    }
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JPanel bottomPanel;
+    private javax.swing.JButton closeButton;
+    private javax.swing.JLabel queryLabel;
+    private javax.swing.JTextField queryTextField;
+    private javax.swing.JList<SearchResult> resultsList;
+    private javax.swing.JScrollPane resultsScrollPane;
+    private javax.swing.JButton searchButton;
+    private javax.swing.JLabel statusLabel;
+    private javax.swing.JComboBox<ComponentSearch.SearchTarget> targetComboBox;
+    private javax.swing.JPanel toolsPanel;
+    // End of variables declaration//GEN-END:variables
+
+    /**
+     * Matches snapshot in parallel, publishing results as they are found.
+     */
+    @ParametersAreNonnullByDefault
+    private class SearchWorker extends SwingWorker<Integer, SearchResult> {
+
+        private final ComponentSearch search;
+        private final ComponentSearch.Snapshot snapshot;
+        private final long startTime = System.currentTimeMillis();
+
+        public SearchWorker(ComponentSearch search, ComponentSearch.Snapshot snapshot) {
+            this.search = search;
+            this.snapshot = snapshot;
+        }
+
+        @Nonnull
+        @Override
+        protected Integer doInBackground() {
+            AtomicInteger count = new AtomicInteger();
+            search.search(snapshot, index -> {
+                publish(new SearchResult(snapshot, index));
+                count.incrementAndGet();
+            }, this::isCancelled);
+            return count.get();
+        }
+
+        @Override
+        protected void process(List<SearchResult> chunks) {
+            if (searchWorker == this) {
+                resultsListModel.addAll(chunks);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (searchWorker != this) {
+                return;
+            }
+
+            searchWorker = null;
+            try {
+                int found = get();
+                statusLabel.setText(String.format(resourceBundle.getString("statusLabel.foundText"), found, snapshot.size(), System.currentTimeMillis() - startTime));
+            } catch (InterruptedException | ExecutionException ex) {
+                Logger.getLogger(ComponentSearchPanel.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    @ParametersAreNonnullByDefault
+    private static class SearchResult {
+
+        private final Component component;
+        private final String className;
+        private final String text;
+
+        public SearchResult(ComponentSearch.Snapshot snapshot, int index) {
+            component = snapshot.getComponent(index);
+            className = snapshot.getClassName(index);
+            String name = snapshot.getName(index);
+            String componentText = snapshot.getText(index);
+            text = className + (name == null ? "" : " [" + name + "]") + (componentText == null || componentText.isEmpty() ? "" : " \"" + componentText + "\"");
+        }
+
+        @Nonnull
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
@@ -17,18 +17,36 @@ package org.exbin.utils.guipopup.gui;
 
 import java.awt.BorderLayout;
 import java.awt.Component;
+import java.awt.Dialog;
+import java.awt.Window;
 import java.awt.event.ActionListener;
-import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTextArea;
-import javax.swing.event.ListSelectionEvent;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.event.TreeSelectionEvent;
+import javax.swing.tree.TreePath;
 
 import org.exbin.auxiliary.binary_data.BinaryData;
 import org.exbin.bined.intellij.api.BinaryViewHandler;
 import org.exbin.framework.utils.LanguageUtils;
+import org.exbin.framework.utils.WindowUtils;
 import org.exbin.utils.guipopup.ViewBinaryDataProvider;
+import org.exbin.utils.guipopup.inspect.ComponentTreeExporter;
 
 /**
  * Inspection panel for instance component.
@@ -40,87 +58,287 @@ public class InspectComponentPanel extends javax.swing.JPanel {
 
     private final java.util.ResourceBundle resourceBundle = LanguageUtils.getResourceBundleByClass(InspectComponentPanel.class);
 
-    private final ComponentParentsListModel componentParentsListModel = new ComponentParentsListModel();
+    private static final int HISTORY_LIMIT = 50;
+    private static final String EXPORT_FILE_NAME = "component-tree.ndjson";
+
+    private final ComponentHierarchyTreeModel componentHierarchyTreeModel = new ComponentHierarchyTreeModel();
     private final PropertyTablePanel propertyTablePanel = new PropertyTablePanel();
+    private final PropertyTablePanel beanPropertiesPanel = new PropertyTablePanel();
+    private final Deque<HistoryEntry> backHistory = new ArrayDeque<>();
+    private final Deque<HistoryEntry> forwardHistory = new ArrayDeque<>();
+    private HistoryEntry current = null;
     private Object component;
-    private int currentlyShown = 0;
+    private Object currentlyShown = null;
+    private JTabbedPane tabbedPane = null;
+    private Object beanPropertiesObject = null;
+    private SwingWorker<Object, Void> binaryDataWorker = null;
 
     public InspectComponentPanel() {
         initComponents();
-    }
 
-    public void setComponent(Object component, @Nullable String componentName) {
-        this.component = component;
-
-        componentClassTextField.setText(componentName == null ? "-" : componentName);
-        parentsList.getSelectionModel().addListSelectionListener((ListSelectionEvent e) -> {
-            int selectedIndex = parentsList.getSelectedIndex();
-            if (selectedIndex >= 0 && currentlyShown != selectedIndex) {
-                currentlyShown = selectedIndex;
-                Object itemObject = componentParentsListModel.getItemObject(currentlyShown);
+        instanceSplitPane.setBottomComponent(propertyTablePanel);
+        beanPropertiesPanel.setBeanProperties(true);
+        // Fixed row height lets large model skip measuring of all rows
+        if (hierarchyTree.getRowHeight() <= 0) {
+            hierarchyTree.setRowHeight(hierarchyTree.getFontMetrics(hierarchyTree.getFont()).getHeight() + 2);
+        }
+        hierarchyTree.addTreeSelectionListener((TreeSelectionEvent e) -> {
+            TreePath selectionPath = hierarchyTree.getSelectionPath();
+            if (selectionPath == null) {
+                return;
+            }
+
+            Object itemObject = ComponentHierarchyTreeModel.getNodeObject(selectionPath.getLastPathComponent());
+            if (currentlyShown != itemObject) {
+                currentlyShown = itemObject;
                 propertyTablePanel.setObject(itemObject);
+                loadSelectedTab();
             }
         });
+        updateNavigationButtons();
+    }
+
+    /**
+     * Navigates to given component, previous component is added to history.
+     *
+     * @param component inspected component
+     * @param componentName name of the component
+     */
+    public void setComponent(Object component, @Nullable String componentName) {
+        if (current != null) {
+            backHistory.addLast(current);
+            if (backHistory.size() > HISTORY_LIMIT) {
+                backHistory.removeFirst();
+            }
+        }
+        forwardHistory.clear();
+        showEntry(new HistoryEntry(component, componentName), component);
+    }
+
+    public boolean canNavigateBack() {
+        purgeCollected(backHistory);
+        return !backHistory.isEmpty();
+    }
+
+    public boolean canNavigateForward() {
+        purgeCollected(forwardHistory);
+        return !forwardHistory.isEmpty();
+    }
+
+    public void navigateBack() {
+        navigate(backHistory, forwardHistory);
+    }
+
+    public void navigateForward() {
+        navigate(forwardHistory, backHistory);
+    }
+
+    /**
+     * Releases inspected objects, history and cached values.
+     * <p>
+     * Called when inspector window is closed.
+     */
+    public void release() {
+        cancelBinaryDataLoad();
+        backHistory.clear();
+        forwardHistory.clear();
+        current = null;
+        component = null;
+        currentlyShown = null;
+        beanPropertiesObject = null;
+        propertyTablePanel.release();
+        beanPropertiesPanel.release();
+        hierarchyTree.clearSelection();
+        componentHierarchyTreeModel.clear();
+        mainPanel.removeAll();
+        tabbedPane = null;
+    }
+
+    private void navigate(Deque<HistoryEntry> fromHistory, Deque<HistoryEntry> toHistory) {
+        while (!fromHistory.isEmpty()) {
+            HistoryEntry entry = fromHistory.removeLast();
+            Object entryComponent = entry.componentRef.get();
+            if (entryComponent != null) {
+                toHistory.addLast(current);
+                showEntry(entry, entryComponent);
+                return;
+            }
+        }
+
+        updateNavigationButtons();
+    }
+
+    private static void purgeCollected(Deque<HistoryEntry> history) {
+        history.removeIf(entry -> entry.componentRef.get() == null);
+    }
+
+    private void showEntry(HistoryEntry entry, Object entryComponent) {
+        cancelBinaryDataLoad();
+        current = entry;
+        component = entryComponent;
+        componentClassTextField.setText(entry.componentName == null ? "-" : entry.componentName);
 
-        updateParentsList();
+        currentlyShown = component;
+        updateHierarchyTree();
 
         propertyTablePanel.setObject(component);
-        instanceSplitPane.setBottomComponent(propertyTablePanel);
+        mainPanel.removeAll();
+        tabbedPane = null;
+        mainPanel.add(instanceSplitPane, BorderLayout.CENTER);
+
+        Object basicType = PropertyTableItem.convertToBasicType(component);
+        if (basicType instanceof String) {
+            JTextArea textArea = new JTextArea((String) basicType);
+            textArea.setEditable(false);
+            addTab("Text", textArea);
+        }
+        if (PrimitiveArrayViewPanel.isSupported(component)) {
+            PrimitiveArrayViewPanel arrayViewPanel = new PrimitiveArrayViewPanel();
+            arrayViewPanel.setArray(component);
+            addTab("Values", arrayViewPanel);
+        }
+        if (!component.getClass().isArray() && !(basicType instanceof String)) {
+            // Getters are invoked only when tab is selected
+            beanPropertiesObject = null;
+            addTab("Bean Properties", beanPropertiesPanel);
+        }
+
+        loadBinaryData(component);
+        updateNavigationButtons();
+        mainPanel.revalidate();
+        mainPanel.repaint();
+    }
+
+    /**
+     * Exports component hierarchy of window of inspected component or all
+     * windows if inspected object is not a component.
+     */
+    private void exportComponentTree() {
+        List<Component> roots;
+        if (component instanceof Component) {
+            Component root = component instanceof Window ? (Component) component : SwingUtilities.getWindowAncestor((Component) component);
+            roots = Collections.singletonList(root == null ? (Component) component : root);
+        } else {
+            roots = ComponentTreeExporter.getAllWindows();
+        }
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setSelectedFile(new File(EXPORT_FILE_NAME));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
 
-        boolean binarySupported = false;
-        Object binaryData = null;
+        try {
+            new ComponentTreeExporter().export(fileChooser.getSelectedFile().toPath(), roots);
+        } catch (IOException ex) {
+            Logger.getLogger(InspectComponentPanel.class.getName()).log(Level.SEVERE, null, ex);
+            JOptionPane.showMessageDialog(this, ex.getMessage(), resourceBundle.getString("exportFailed.title"), JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Opens dialog for search of components across all windows.
+     */
+    private void findComponent() {
+        final ComponentSearchPanel searchPanel = new ComponentSearchPanel();
+        final WindowUtils.DialogWrapper searchDialog = WindowUtils.createDialog(searchPanel, this, resourceBundle.getString("findDialog.title"), Dialog.ModalityType.MODELESS);
+        searchPanel.setCloseActionListener(e -> {
+            searchPanel.cancelSearch();
+            searchDialog.close();
+        });
+        searchDialog.show();
+    }
+
+    private void updateNavigationButtons() {
+        backButton.setEnabled(canNavigateBack());
+        forwardButton.setEnabled(canNavigateForward());
+    }
+
+    /**
+     * Converts instance to binary data on background thread and adds binary
+     * tab if supported.
+     */
+    private void loadBinaryData(final Object instance) {
         try {
             Class.forName("org.exbin.bined.intellij.api.BinaryViewData");
-            BinaryViewHandler binaryViewHandler = ViewBinaryDataProvider.getBinaryViewHandler();
-            binaryData = binaryViewHandler != null ? binaryViewHandler.instanceToBinaryData(component).orElse(null) : null;
-            binarySupported = binaryData != null;
         } catch (ClassNotFoundException e) {
             // Not available
+            return;
         }
-        Object basicType = PropertyTableItem.convertToBasicType(component);
-        if (basicType instanceof String || binarySupported) {
-            JTabbedPane tabbedPane = new JTabbedPane();
-            tabbedPane.add("Instance", instanceSplitPane);
-            if (basicType instanceof String) {
-                JTextArea textArea = new JTextArea((String) basicType);
-                textArea.setEditable(false);
-                tabbedPane.add("Text", textArea);
+
+        final BinaryViewHandler binaryViewHandler = ViewBinaryDataProvider.getBinaryViewHandler();
+        if (binaryViewHandler == null) {
+            return;
+        }
+
+        binaryDataWorker = new SwingWorker<Object, Void>() {
+            @Nullable
+            @Override
+            protected Object doInBackground() {
+                return binaryViewHandler.instanceToBinaryData(instance).orElse(null);
             }
-            if (binarySupported) {
-                BinaryViewHandler binaryViewHandler = ViewBinaryDataProvider.getBinaryViewHandler();
-                tabbedPane.add("Binary", binaryViewHandler.createBinaryViewPanel((BinaryData) binaryData));
+
+            @Override
+            protected void done() {
+                // Same object can be shown again meanwhile, only the latest load is used
+                if (binaryDataWorker != this || isCancelled()) {
+                    return;
+                }
+
+                binaryDataWorker = null;
+                try {
+                    Object binaryData = get();
+                    if (binaryData != null) {
+                        addTab("Binary", binaryViewHandler.createBinaryViewPanel((BinaryData) binaryData));
+                    }
+                } catch (InterruptedException | ExecutionException ex) {
+                    Logger.getLogger(InspectComponentPanel.class.getName()).log(Level.SEVERE, null, ex);
+                }
             }
-            mainPanel.add(tabbedPane, BorderLayout.CENTER);
-        } else {
-            mainPanel.add(instanceSplitPane, BorderLayout.CENTER);
-        }
+        };
+        binaryDataWorker.execute();
     }
 
-    private void updateParentsList() {
-        componentParentsListModel.clear();
+    private void cancelBinaryDataLoad() {
+        if (binaryDataWorker != null) {
+            SwingWorker<Object, Void> previousWorker = binaryDataWorker;
+            binaryDataWorker = null;
+            previousWorker.cancel(false);
+        }
+    }
 
-        componentParentsListModel.add(getClassName(component.getClass()), component);
-        if (component instanceof Component) {
-            Component comp = ((Component) component).getParent();
-            while (comp != null) {
-                String name = getClassName(comp.getClass());
-                componentParentsListModel.add(name, comp);
-                comp = comp.getParent();
-            }
+    /**
+     * Adds tab next to instance view, switching to tabbed layout when needed.
+     */
+    private void addTab(String title, Component tabComponent) {
+        if (tabbedPane == null) {
+            mainPanel.remove(instanceSplitPane);
+            tabbedPane = new JTabbedPane();
+            tabbedPane.add("Instance", instanceSplitPane);
+            tabbedPane.addChangeListener(e -> loadSelectedTab());
+            mainPanel.add(tabbedPane, BorderLayout.CENTER);
         }
+
+        tabbedPane.add(title, tabComponent);
+        mainPanel.revalidate();
+        mainPanel.repaint();
     }
 
-    @Nonnull
-    private String getClassName(Class<?> clazz) {
-        String name = clazz.getCanonicalName();
-        if (name == null) {
-            name = clazz.getTypeName();
-            if (name == null) {
-                name = "<anonymous>";
-            }
+    private void loadSelectedTab() {
+        if (tabbedPane != null && tabbedPane.getSelectedComponent() == beanPropertiesPanel && currentlyShown != null && beanPropertiesObject != currentlyShown) {
+            beanPropertiesObject = currentlyShown;
+            beanPropertiesPanel.setObject(currentlyShown);
         }
+    }
 
-        return name;
+    /**
+     * Shows hierarchy of inspected component with path to it expanded and
+     * selected.
+     */
+    private void updateHierarchyTree() {
+        TreePath path = componentHierarchyTreeModel.setObject(component);
+        hierarchyTree.setSelectionPath(path);
+        hierarchyTree.scrollPathToVisible(path);
     }
 
     /**
@@ -133,30 +351,67 @@ public class InspectComponentPanel extends javax.swing.JPanel {
     private void initComponents() {
 
         instanceSplitPane = new javax.swing.JSplitPane();
-        parentsListScrollPane = new javax.swing.JScrollPane();
-        parentsList = new javax.swing.JList<>();
+        hierarchyTreeScrollPane = new javax.swing.JScrollPane();
+        hierarchyTree = new javax.swing.JTree();
         mainPanel = new javax.swing.JPanel();
+        backButton = new javax.swing.JButton();
+        forwardButton = new javax.swing.JButton();
         componentLabel = new javax.swing.JLabel();
         componentClassTextField = new javax.swing.JTextField();
         closeButton = new javax.swing.JButton();
+        exportButton = new javax.swing.JButton();
+        findButton = new javax.swing.JButton();
         showStaticFieldsCheckBox = new javax.swing.JCheckBox();
 
         instanceSplitPane.setDividerLocation(230);
 
-        parentsList.setModel(componentParentsListModel);
-        parentsList.setSelectionMode(javax.swing.ListSelectionModel.SINGLE_SELECTION);
-        parentsListScrollPane.setViewportView(parentsList);
+        hierarchyTree.setModel(componentHierarchyTreeModel);
+        hierarchyTree.setLargeModel(true);
+        hierarchyTree.setShowsRootHandles(true);
+        hierarchyTreeScrollPane.setViewportView(hierarchyTree);
 
-        instanceSplitPane.setLeftComponent(parentsListScrollPane);
+        instanceSplitPane.setLeftComponent(hierarchyTreeScrollPane);
 
         mainPanel.setLayout(new java.awt.BorderLayout());
 
+        backButton.setText(resourceBundle.getString("backButton.text")); // NOI18N
+        backButton.setToolTipText(resourceBundle.getString("backButton.toolTipText")); // NOI18N
+        backButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                backButtonActionPerformed(evt);
+            }
+        });
+
+        forwardButton.setText(resourceBundle.getString("forwardButton.text")); // NOI18N
+        forwardButton.setToolTipText(resourceBundle.getString("forwardButton.toolTipText")); // NOI18N
+        forwardButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                forwardButtonActionPerformed(evt);
+            }
+        });
+
         componentLabel.setText(resourceBundle.getString("componentLabel.text")); // NOI18N
 
         componentClassTextField.setEditable(false);
 
         closeButton.setText(resourceBundle.getString("closeButton.text")); // NOI18N
 
+        exportButton.setText(resourceBundle.getString("exportButton.text")); // NOI18N
+        exportButton.setToolTipText(resourceBundle.getString("exportButton.toolTipText")); // NOI18N
+        exportButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                exportButtonActionPerformed(evt);
+            }
+        });
+
+        findButton.setText(resourceBundle.getString("findButton.text")); // NOI18N
+        findButton.setToolTipText(resourceBundle.getString("findButton.toolTipText")); // NOI18N
+        findButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                findButtonActionPerformed(evt);
+            }
+        });
+
         showStaticFieldsCheckBox.setText(resourceBundle.getString("InspectComponentPanel.showStaticFieldsCheckBox.text")); // NOI18N
         showStaticFieldsCheckBox.addChangeListener(new javax.swing.event.ChangeListener() {
             public void stateChanged(javax.swing.event.ChangeEvent evt) {
@@ -173,12 +428,20 @@ public class InspectComponentPanel extends javax.swing.JPanel {
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                     .addComponent(mainPanel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                     .addGroup(layout.createSequentialGroup()
+                        .addComponent(backButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(forwardButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                         .addComponent(componentLabel)
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                         .addComponent(componentClassTextField))
                     .addGroup(javax.swing.GroupLayout.Alignment.TRAILING, layout.createSequentialGroup()
                         .addComponent(showStaticFieldsCheckBox)
-                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, 535, Short.MAX_VALUE)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, 454, Short.MAX_VALUE)
+                        .addComponent(findButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(exportButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                         .addComponent(closeButton)))
                 .addContainerGap())
         );
@@ -187,6 +450,8 @@ public class InspectComponentPanel extends javax.swing.JPanel {
             .addGroup(layout.createSequentialGroup()
                 .addContainerGap()
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(backButton)
+                    .addComponent(forwardButton)
                     .addComponent(componentLabel)
                     .addComponent(componentClassTextField, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
@@ -194,6 +459,8 @@ public class InspectComponentPanel extends javax.swing.JPanel {
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                     .addComponent(closeButton)
+                    .addComponent(exportButton)
+                    .addComponent(findButton)
                     .addComponent(showStaticFieldsCheckBox))
                 .addContainerGap())
         );
@@ -201,23 +468,63 @@ public class InspectComponentPanel extends javax.swing.JPanel {
 
     private void showStaticFieldsCheckBoxStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_showStaticFieldsCheckBoxStateChanged
         propertyTablePanel.setShowStaticFields(showStaticFieldsCheckBox.isSelected());
-        Object itemObject = componentParentsListModel.getItemObject(currentlyShown);
-        propertyTablePanel.setObject(itemObject);
+        if (currentlyShown != null) {
+            propertyTablePanel.setObject(currentlyShown);
+        }
     }//GEN-LAST:event_showStaticFieldsCheckBoxStateChanged
 
+    private void exportButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_exportButtonActionPerformed
+        exportComponentTree();
+    }//GEN-LAST:event_exportButtonActionPerformed
+
+    private void findButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_findButtonActionPerformed
+        findComponent();
+    }//GEN-LAST:event_findButtonActionPerformed
+
+    private void backButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_backButtonActionPerformed
+        navigateBack();
+    }//GEN-LAST:event_backButtonActionPerformed
+
+    private void forwardButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_forwardButtonActionPerformed
+        navigateForward();
+    }//GEN-LAST:event_forwardButtonActionPerformed
+
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JButton backButton;
     private javax.swing.JButton closeButton;
     private javax.swing.JTextField componentClassTextField;
     private javax.swing.JLabel componentLabel;
+    private javax.swing.JButton exportButton;
+    private javax.swing.JButton findButton;
+    private javax.swing.JButton forwardButton;
+    private javax.swing.JTree hierarchyTree;
+    private javax.swing.JScrollPane hierarchyTreeScrollPane;
     private javax.swing.JSplitPane instanceSplitPane;
     private javax.swing.JPanel mainPanel;
-    private javax.swing.JList<String> parentsList;
-    private javax.swing.JScrollPane parentsListScrollPane;
     private javax.swing.JCheckBox showStaticFieldsCheckBox;
     // End of variables declaration//GEN-END:variables
 
     public void setCloseActionListener(ActionListener listener) {
         closeButton.addActionListener(listener);
     }
+
+    /**
+     * Entry of navigation history.
+     * <p>
+     * Component is weakly referenced so that history doesn't keep disposed
+     * windows reachable, shown component is held by the panel itself.
+     */
+    @ParametersAreNonnullByDefault
+    private static class HistoryEntry {
+
+        private final WeakReference<Object> componentRef;
+        @Nullable
+        private final String componentName;
+
+        public HistoryEntry(Object component, @Nullable String componentName) {
+            this.componentRef = new WeakReference<>(component);
+            this.componentName = componentName;
+        }
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.gui;
+
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.wm.WindowManager;
+import java.awt.Dialog;
+import java.awt.Frame;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.framework.utils.WindowUtils;
+
+/**
+ * Shared inspector window.
+ * <p>
+ * Single window is reused for all inspections, navigating in its history.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class InspectComponentWindow {
+
+    private static InspectComponentPanel inspectComponentPanel = null;
+    private static WindowUtils.DialogWrapper dialog = null;
+
+    private InspectComponentWindow() {
+    }
+
+    /**
+     * Shows given object in inspector window, opening window if necessary.
+     *
+     * @param object inspected object
+     * @param name name of the object
+     */
+    public static void inspect(Object object, @Nullable String name) {
+        if (dialog != null && isOpen(dialog)) {
+            inspectComponentPanel.setComponent(object, name);
+            dialog.getWindow().toFront();
+            return;
+        }
+
+        inspectComponentPanel = new InspectComponentPanel();
+        inspectComponentPanel.setComponent(object, name);
+        Frame mainWindow = WindowManager.getInstance().getFrame(ProjectManager.getInstance().getDefaultProject());
+        final WindowUtils.DialogWrapper inspectDialog = WindowUtils.createDialog(inspectComponentPanel, mainWindow, "Inspect Component", Dialog.ModalityType.MODELESS);
+        final InspectComponentPanel panel = inspectComponentPanel;
+        dialog = inspectDialog;
+        panel.setCloseActionListener(e -> inspectDialog.close());
+        // Window can be closed from its frame as well, release inspected objects in any case
+        inspectDialog.getWindow().addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                e.getWindow().removeWindowListener(this);
+                if (dialog == inspectDialog) {
+                    dialog = null;
+                    inspectComponentPanel = null;
+                }
+                panel.release();
+            }
+        });
+        inspectDialog.show();
+    }
+
+    private static boolean isOpen(WindowUtils.DialogWrapper dialog) {
+        Window window = dialog.getWindow();
+        return window != null && window.isDisplayable();
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.KeyEvent;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JScrollBar;
+import javax.swing.KeyStroke;
+import javax.swing.UIManager;
+
+/**
+ * Viewer for primitive arrays rendering multiple elements per row.
+ * <p>
+ * Byte and char arrays are shown as hex dump, other types as columns. Only
+ * visible rows are formatted directly from the array and scrolling is done in
+ * rows, so arrays of any length can be browsed.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class PrimitiveArrayViewPanel extends javax.swing.JPanel {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final int WHEEL_ROWS = 3;
+
+    private final DumpView dumpView = new DumpView();
+    private final JScrollBar scrollBar = new JScrollBar(JScrollBar.VERTICAL);
+    private final StringBuilder rowBuilder = new StringBuilder();
+    private char[] rowChars = new char[128];
+
+    private ElementType elementType = null;
+    private Object array = null;
+    private int length = 0;
+    private int rowCount = 0;
+    private int firstRow = 0;
+
+    public PrimitiveArrayViewPanel() {
+        super(new BorderLayout());
+        add(dumpView, BorderLayout.CENTER);
+        add(scrollBar, BorderLayout.EAST);
+
+        scrollBar.addAdjustmentListener(e -> {
+            firstRow = e.getValue();
+            dumpView.repaint();
+        });
+        dumpView.addMouseWheelListener(e -> scrollBar.setValue(scrollBar.getValue() + e.getWheelRotation() * WHEEL_ROWS));
+        dumpView.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                updateScrollBar();
+            }
+        });
+        registerScrollKey(KeyEvent.VK_UP, "scrollUp", -1, false);
+        registerScrollKey(KeyEvent.VK_DOWN, "scrollDown", 1, false);
+        registerScrollKey(KeyEvent.VK_PAGE_UP, "scrollPageUp", -1, true);
+        registerScrollKey(KeyEvent.VK_PAGE_DOWN, "scrollPageDown", 1, true);
+        dumpView.setFocusable(true);
+    }
+
+    /**
+     * Returns true if given object is array supported by this viewer.
+     *
+     * @param object object
+     * @return true if supported
+     */
+    public static boolean isSupported(@Nullable Object object) {
+        return object != null && ElementType.forArray(object) != null;
+    }
+
+    /**
+     * Sets array to show.
+     *
+     * @param array primitive array of supported type
+     */
+    public void setArray(Object array) {
+        ElementType type = ElementType.forArray(array);
+        if (type == null) {
+            throw new IllegalArgumentException("Unsupported array type: " + array.getClass().getTypeName());
+        }
+
+        this.array = array;
+        elementType = type;
+        length = java.lang.reflect.Array.getLength(array);
+        rowCount = (int) (((long) length + type.elementsPerRow - 1) / type.elementsPerRow);
+        firstRow = 0;
+        scrollBar.setValue(0);
+        updateScrollBar();
+        dumpView.repaint();
+    }
+
+    private void registerScrollKey(int keyCode, String actionKey, final int direction, final boolean page) {
+        dumpView.getInputMap(JComponent.WHEN_FOCUSED).put(KeyStroke.getKeyStroke(keyCode, 0), actionKey);
+        dumpView.getActionMap().put(actionKey, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                int step = page ? Math.max(1, scrollBar.getVisibleAmount()) : 1;
+                scrollBar.setValue(scrollBar.getValue() + direction * step);
+            }
+        });
+    }
+
+    private void updateScrollBar() {
+        int visibleRows = Math.max(1, dumpView.getHeight() / dumpView.getRowHeight());
+        int value = Math.max(0, Math.min(firstRow, rowCount - visibleRows));
+        scrollBar.setValues(value, Math.min(visibleRows, Math.max(rowCount, 1)), 0, Math.max(rowCount, 1));
+        scrollBar.setBlockIncrement(visibleRows);
+        scrollBar.setUnitIncrement(1);
+    }
+
+    /**
+     * Formats single row of elements into row builder.
+     *
+     * @param row row index
+     */
+    private void formatRow(int row) {
+        StringBuilder builder = rowBuilder;
+        builder.setLength(0);
+        int perRow = elementType.elementsPerRow;
+        int start = row * perRow;
+        int end = Math.min(length, start + perRow);
+        appendHex(builder, start, 8);
+        builder.append(": ");
+        switch (elementType) {
+            case BYTE: {
+                byte[] values = (byte[]) array;
+                for (int i = start; i < start + perRow; i++) {
+                    if (i < end) {
+                        appendHex(builder, values[i] & 0xFF, 2);
+                        builder.append(' ');
+                    } else {
+                        builder.append("   ");
+                    }
+                }
+                builder.append(' ');
+                for (int i = start; i < end; i++) {
+                    int value = values[i] & 0xFF;
+                    builder.append(value >= 0x20 && value < 0x7F ? (char) value : '.');
+                }
+                break;
+            }
+            case CHAR: {
+                char[] values = (char[]) array;
+                for (int i = start; i < start + perRow; i++) {
+                    if (i < end) {
+                        appendHex(builder, values[i], 4);
+                        builder.append(' ');
+                    } else {
+                        builder.append("     ");
+                    }
+                }
+                builder.append(' ');
+                for (int i = start; i < end; i++) {
+                    char value = values[i];
+                    builder.append(Character.isISOControl(value) || Character.isSurrogate(value) ? '.' : value);
+                }
+                break;
+            }
+            case INT: {
+                int[] values = (int[]) array;
+                for (int i = start; i < end; i++) {
+                    int position = builder.length();
+                    builder.append(values[i]);
+                    padLeft(builder, position, elementType.columnWidth);
+                }
+                break;
+            }
+            case LONG: {
+                long[] values = (long[]) array;
+                for (int i = start; i < end; i++) {
+                    int position = builder.length();
+                    builder.append(values[i]);
+                    padLeft(builder, position, elementType.columnWidth);
+                }
+                break;
+            }
+            case FLOAT: {
+                float[] values = (float[]) array;
+                for (int i = start; i < end; i++) {
+                    int position = builder.length();
+                    builder.append(values[i]);
+                    padLeft(builder, position, elementType.columnWidth);
+                }
+                break;
+            }
+            case DOUBLE: {
+                double[] values = (double[]) array;
+                for (int i = start; i < end; i++) {
+                    int position = builder.length();
+                    builder.append(values[i]);
+                    padLeft(builder, position, elementType.columnWidth);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected element type: " + elementType);
+        }
+
+        if (rowChars.length < builder.length()) {
+            rowChars = new char[builder.length() * 2];
+        }
+        builder.getChars(0, builder.length(), rowChars, 0);
+    }
+
+    private static void appendHex(StringBuilder builder, int value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            builder.append(HEX_DIGITS[(value >>> shift) & 0xF]);
+        }
+    }
+
+    private static void padLeft(StringBuilder builder, int position, int width) {
+        int padding = width - (builder.length() - position);
+        for (int i = 0; i < padding; i++) {
+            builder.insert(position, ' ');
+        }
+    }
+
+    /**
+     * Supported array element types with row layout.
+     */
+    private enum ElementType {
+        BYTE(16, 3),
+        CHAR(16, 5),
+        INT(8, 13),
+        LONG(4, 22),
+        FLOAT(4, 18),
+        DOUBLE(4, 26);
+
+        private final int elementsPerRow;
+        private final int columnWidth;
+
+        ElementType(int elementsPerRow, int columnWidth) {
+            this.elementsPerRow = elementsPerRow;
+            this.columnWidth = columnWidth;
+        }
+
+        @Nullable
+        private static ElementType forArray(Object array) {
+            Class<?> componentType = array.getClass().getComponentType();
+            if (componentType == byte.class) {
+                return BYTE;
+            } else if (componentType == char.class) {
+                return CHAR;
+            } else if (componentType == int.class) {
+                return INT;
+            } else if (componentType == long.class) {
+                return LONG;
+            } else if (componentType == float.class) {
+                return FLOAT;
+            } else if (componentType == double.class) {
+                return DOUBLE;
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Component painting visible rows.
+     */
+    private class DumpView extends JComponent {
+
+        public DumpView() {
+            setFont(new Font(Font.MONOSPACED, Font.PLAIN, UIManager.getFont("Label.font") == null ? 12 : UIManager.getFont("Label.font").getSize()));
+            setOpaque(true);
+        }
+
+        private int getRowHeight() {
+            return Math.max(1, getFontMetrics(getFont()).getHeight());
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            FontMetrics metrics = getFontMetrics(getFont());
+            int columns = elementType == null ? 80 : 10 + elementType.elementsPerRow * elementType.columnWidth + (elementType.columnWidth <= 5 ? elementType.elementsPerRow + 1 : 0);
+            return new Dimension(metrics.charWidth('0') * columns, metrics.getHeight() * 20);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            g.setColor(UIManager.getColor("TextArea.background") == null ? getBackground() : UIManager.getColor("TextArea.background"));
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+            if (elementType == null) {
+                return;
+            }
+
+            g.setColor(UIManager.getColor("TextArea.foreground") == null ? getForeground() : UIManager.getColor("TextArea.foreground"));
+            g.setFont(getFont());
+            FontMetrics metrics = g.getFontMetrics();
+            int rowHeight = metrics.getHeight();
+            int ascent = metrics.getAscent();
+            int fromRow = clip.y / rowHeight;
+            int toRow = (clip.y + clip.height + rowHeight - 1) / rowHeight;
+            for (int visibleRow = fromRow; visibleRow < toRow; visibleRow++) {
+                long row = (long) firstRow + visibleRow;
+                if (row >= rowCount) {
+                    break;
+                }
+
+                formatRow((int) row);
+                g.drawChars(rowChars, 0, rowBuilder.length(), 2, visibleRow * rowHeight + ascent);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Lowercase text index of property rows for filtering.
+ * <p>
+ * Each row is matched by field name, declared type and rendered value. When
+ * filter text extends previous filter text, only previously matched rows are
+ * checked again.
+ * <p>
+ * Array elements are matched directly without creating items, filtering of
+ * large arrays is expected to run on background thread with cancellation.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class PropertyFilterIndex {
+
+    private static final int INITIAL_MATCHES_CAPACITY = 1024;
+    private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+    private final List<PropertyTableItem> items;
+    @Nullable
+    private final ArrayPropertyItems arrayItems;
+    private final List<String> index = new ArrayList<>();
+    private String query = "";
+    private int[] matches = null;
+
+    public PropertyFilterIndex(List<PropertyTableItem> items) {
+        this.items = items;
+        // Array rows are matched on elements directly, no items or texts are kept
+        arrayItems = items instanceof ArrayPropertyItems ? (ArrayPropertyItems) items : null;
+    }
+
+    /**
+     * Filters rows by given text.
+     *
+     * @param filterText filter text
+     * @return sorted indexes of matching rows or null if filter text is empty
+     */
+    @Nullable
+    public int[] filter(String filterText) {
+        return filter(filterText, () -> false);
+    }
+
+    /**
+     * Returns true if rows are array elements and filtering may take long.
+     *
+     * @return true for array rows
+     */
+    public boolean isArrayFilter() {
+        return arrayItems != null;
+    }
+
+    /**
+     * Filters rows by given text with cancellation.
+     * <p>
+     * When cancelled, state of previous filter is kept and returned.
+     *
+     * @param filterText filter text
+     * @param cancelled cancellation check
+     * @return sorted indexes of matching rows or null if filter text is empty
+     */
+    @Nullable
+    public synchronized int[] filter(String filterText, BooleanSupplier cancelled) {
+        String lowerCaseQuery = filterText.toLowerCase(Locale.ROOT);
+        if (lowerCaseQuery.isEmpty()) {
+            query = "";
+            matches = null;
+            return null;
+        }
+
+        boolean narrowing = matches != null && lowerCaseQuery.contains(query);
+        int candidatesCount = narrowing ? matches.length : items.size();
+        int[] result = new int[Math.min(candidatesCount, INITIAL_MATCHES_CAPACITY)];
+        int matchCount = 0;
+        for (int i = 0; i < candidatesCount; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return matches;
+            }
+
+            int row = narrowing ? matches[i] : i;
+            if (matches(row, lowerCaseQuery)) {
+                if (matchCount == result.length) {
+                    result = Arrays.copyOf(result, (int) Math.min(candidatesCount, 2L * result.length));
+                }
+                result[matchCount++] = row;
+            }
+        }
+
+        query = lowerCaseQuery;
+        matches = Arrays.copyOf(result, matchCount);
+        return matches;
+    }
+
+    /**
+     * Matches rows appended to the end of the list against current filter.
+     *
+     * @param fromRow index of first appended row
+     * @return updated sorted indexes of matching rows or null if not
+     * filtering
+     */
+    @Nullable
+    public synchronized int[] appendRows(int fromRow) {
+        if (matches == null) {
+            return null;
+        }
+
+        int size = items.size();
+        int[] result = Arrays.copyOf(matches, matches.length + size - fromRow);
+        int matchCount = matches.length;
+        for (int row = fromRow; row < size; row++) {
+            if (matches(row, query)) {
+                result[matchCount++] = row;
+            }
+        }
+
+        matches = Arrays.copyOf(result, matchCount);
+        return matches;
+    }
+
+    private boolean matches(int row, String lowerCaseQuery) {
+        if (arrayItems != null) {
+            return arrayItems.matches(row, lowerCaseQuery);
+        }
+
+        return getText(row).contains(lowerCaseQuery);
+    }
+
+    @Nonnull
+    private String getText(int row) {
+        while (index.size() <= row) {
+            index.add(buildText(items.get(index.size())));
+        }
+        return index.get(row);
+    }
+
+    /**
+     * Returns true if text contains given lowercase text ignoring case.
+     *
+     * @param text text
+     * @param lowerCaseQuery lowercase text to search for
+     * @return true if found
+     */
+    static boolean containsIgnoreCase(String text, String lowerCaseQuery) {
+        int length = lowerCaseQuery.length();
+        for (int i = text.length() - length; i >= 0; i--) {
+            if (text.regionMatches(true, i, lowerCaseQuery, 0, length)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Nonnull
+    private static String buildText(PropertyTableItem item) {
+        return (item.getValueName() + "\n" + item.getTypeName() + "\n" + item.getValueText()).toLowerCase(Locale.ROOT);
+    }
+}
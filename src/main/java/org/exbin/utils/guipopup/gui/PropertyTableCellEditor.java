@@ -16,61 +16,101 @@
 package org.exbin.utils.guipopup.gui;
 
 import java.awt.Component;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.DefaultCellEditor;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
-import javax.swing.text.JTextComponent;
 
 /**
- * Property table cell renderer.
+ * Property table cell editor.
+ * <p>
+ * Editor reuses single text field and cell panel for all cells.
  *
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
 public class PropertyTableCellEditor extends DefaultCellEditor {
 
+    private final JTextField textField;
+    private final PropertyTableCellPanel cellPanel;
+    private ExpandListener expandListener = null;
+    private int editedRow = -1;
+
     public PropertyTableCellEditor() {
         super(new JTextField());
         setClickCountToStart(0);
+        textField = (JTextField) getComponent();
+        textField.setBorder(null);
+        textField.setEditable(false);
+        textField.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusGained(FocusEvent e) {
+                // Focus is gained after mouse event is redispatched to editor
+                textField.selectAll();
+            }
+        });
+        cellPanel = new PropertyTableCellPanel(textField, null, "");
+        cellPanel.setInspectAction(e -> {
+            int row = editedRow;
+            cancelCellEditing();
+            if (expandListener == null || !expandListener.toggleExpanded(row)) {
+                cellPanel.openInspector();
+            }
+        });
+    }
+
+    /**
+     * Sets listener handling editor button by expanding row in place.
+     *
+     * @param expandListener listener or null to always open new inspector
+     */
+    public void setExpandListener(@Nullable ExpandListener expandListener) {
+        this.expandListener = expandListener;
     }
 
     @Nonnull
     @Override
     public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
-        Object fieldValue = ((PropertyTableItem) value).asBasicType();
-        if (fieldValue == null) {
-            final JTextComponent component = (JTextComponent) super.getTableCellEditorComponent(table, "", isSelected, row, column);
-            component.setBackground(table.getBackground());
-            component.setBorder(null);
-            component.setEditable(false);
-            SwingUtilities.invokeLater(() -> {
-                component.repaint();
-                component.selectAll();
-            });
-            return component;
-        }
-
-        PropertyTableCellPanel cellPanel;
-        final JTextComponent defaultComponent = (JTextComponent) super.getTableCellEditorComponent(table, fieldValue instanceof String ? (String) fieldValue : ((PropertyTableItem) value).getTypeName(), isSelected, row, column);
-        defaultComponent.setBackground(table.getBackground());
-        defaultComponent.setBorder(null);
-        defaultComponent.setEditable(false);
-        SwingUtilities.invokeLater(() -> {
-            defaultComponent.repaint();
-            defaultComponent.selectAll();
-        });
-        cellPanel = new PropertyTableCellPanel(defaultComponent, ((PropertyTableItem) value).getValue(), ((PropertyTableItem) value).getValueName());
-
+        PropertyTableItem item = (PropertyTableItem) value;
+        editedRow = row;
+        Object fieldValue = item.asBasicType();
+        String text = fieldValue == null ? "" : (fieldValue instanceof String ? (String) fieldValue : item.getTypeName());
+        super.getTableCellEditorComponent(table, text, isSelected, row, column);
+        textField.setBackground(table.getBackground());
+        cellPanel.setValue(fieldValue == null ? null : item.getValue(), item.getValueName());
         cellPanel.setBackground(table.getSelectionBackground());
-        cellPanel.getCellComponent().setBorder(null);
         return cellPanel;
     }
 
+    /**
+     * Updates look and feel of reused components.
+     */
+    public void updateUI() {
+        SwingUtilities.updateComponentTreeUI(cellPanel);
+        textField.setBorder(null);
+    }
+
     @Override
     public boolean stopCellEditing() {
         return super.stopCellEditing();
     }
+
+    /**
+     * Listener for expansion of row in place.
+     */
+    public interface ExpandListener {
+
+        /**
+         * Toggles expansion of given row.
+         *
+         * @param row row index
+         * @return true if handled, false to open value in new inspector
+         */
+        boolean toggleExpanded(int row);
+    }
 }
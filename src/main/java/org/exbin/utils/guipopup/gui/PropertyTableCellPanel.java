@@ -15,15 +15,9 @@
  */
 package org.exbin.utils.guipopup.gui;
 
-import com.intellij.openapi.project.ProjectManager;
-import com.intellij.openapi.wm.WindowManager;
-import org.exbin.framework.utils.WindowUtils;
-
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 /**
@@ -34,9 +28,11 @@ import java.awt.event.ActionListener;
 @ParametersAreNonnullByDefault
 public class PropertyTableCellPanel extends ComponentPropertyTableCellPanel {
 
-    private final String name;
+    private String name;
+    @Nullable
+    private Object value;
     @Nullable
-    private final Object value;
+    private ActionListener inspectAction;
 
     public PropertyTableCellPanel(JComponent cellComponent, @Nullable Object value, String name) {
         super(cellComponent);
@@ -54,15 +50,43 @@ public class PropertyTableCellPanel extends ComponentPropertyTableCellPanel {
         init();
     }
 
+    /**
+     * Rebinds panel to another value.
+     *
+     * @param value value to inspect by editor action
+     * @param name name of the value
+     */
+    public void setValue(@Nullable Object value, String name) {
+        this.value = value;
+        this.name = name;
+        setEditorButtonVisible(value != null);
+    }
+
+    /**
+     * Sets action invoked by editor button instead of opening inspector
+     * window.
+     *
+     * @param inspectAction action or null for default behavior
+     */
+    public void setInspectAction(@Nullable ActionListener inspectAction) {
+        this.inspectAction = inspectAction;
+    }
+
+    /**
+     * Opens value in inspector window.
+     */
+    public void openInspector() {
+        if (value == null) return;
+        InspectComponentWindow.inspect(value, name);
+    }
+
     private void init() {
         setEditorAction(e -> {
-            if (value == null) return;
-            InspectComponentPanel inspectComponentPanel = new InspectComponentPanel();
-            inspectComponentPanel.setComponent(value, name);
-            Frame mainWindow = WindowManager.getInstance().getFrame(ProjectManager.getInstance().getDefaultProject());
-            final WindowUtils.DialogWrapper dialog = WindowUtils.createDialog(inspectComponentPanel, mainWindow, "Inspect Component", Dialog.ModalityType.MODELESS);
-            inspectComponentPanel.setCloseActionListener(e1 -> dialog.close());
-            dialog.show();
+            if (inspectAction != null) {
+                inspectAction.actionPerformed(e);
+            } else {
+                openInspector();
+            }
         });
     }
 }
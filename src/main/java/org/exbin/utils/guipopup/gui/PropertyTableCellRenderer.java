@@ -15,37 +15,80 @@
  */
 package org.exbin.utils.guipopup.gui;
 
+import java.awt.Color;
 import java.awt.Component;
+import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JTable;
+import javax.swing.SwingUtilities;
 import javax.swing.table.TableCellRenderer;
 
 /**
  * Property Table Cell Renderer.
+ * <p>
+ * Renderer reuses the same prebuilt components for all cells.
  *
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
 public class PropertyTableCellRenderer implements TableCellRenderer {
 
+    /**
+     * Duration of highlight of changed value in milliseconds.
+     */
+    public static final long CHANGE_HIGHLIGHT_DURATION = 2000;
+    private static final Color CHANGE_HIGHLIGHT_COLOR = new Color(255, 170, 0);
+
+    private final JLabel nullLabel = new JLabel("<null>");
+    private final JLabel valueLabel = ComponentPropertyTableCellPanel.createEmptyCellComponent();
+    private final ComponentPropertyTableCellPanel cellPanel = new ComponentPropertyTableCellPanel(valueLabel);
+    private Color highlightBase = null;
+    private Color highlightBackground = null;
+
     public PropertyTableCellRenderer() {
+        valueLabel.setBorder(null);
     }
 
     @Override
     public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-        Object fieldValue = ((PropertyTableItem) value).asBasicType();
+        PropertyTableItem item = (PropertyTableItem) value;
+        Color background = isSelected ? table.getSelectionBackground() : table.getBackground();
+        long changeTime = item.getChangeTime();
+        if (!isSelected && changeTime != 0 && System.currentTimeMillis() - changeTime < CHANGE_HIGHLIGHT_DURATION) {
+            background = getHighlightBackground(background);
+        }
+
+        Object fieldValue = item.asBasicType();
         if (fieldValue == null) {
-            JComponent component = new JLabel("<null>");
-            component.setBackground(isSelected ? table.getSelectionBackground() : table.getBackground());
-            return component;
+            nullLabel.setBackground(background);
+            nullLabel.setOpaque(background != table.getBackground());
+            return nullLabel;
         }
 
-        JComponent component = new JLabel(fieldValue instanceof String ? (String) fieldValue : ((PropertyTableItem) value).getTypeName());
-        PropertyTableCellPanel cellPanel = new PropertyTableCellPanel(component, null, null);
-        cellPanel.setBackground(isSelected ? table.getSelectionBackground() : table.getBackground());
-        cellPanel.getCellComponent().setBorder(null);
+        valueLabel.setText(fieldValue instanceof String ? (String) fieldValue : item.getTypeName());
+        cellPanel.setBackground(background);
         return cellPanel;
     }
+
+    @Nonnull
+    private Color getHighlightBackground(Color background) {
+        if (!background.equals(highlightBase)) {
+            highlightBase = background;
+            highlightBackground = new Color(
+                    (background.getRed() * 2 + CHANGE_HIGHLIGHT_COLOR.getRed()) / 3,
+                    (background.getGreen() * 2 + CHANGE_HIGHLIGHT_COLOR.getGreen()) / 3,
+                    (background.getBlue() * 2 + CHANGE_HIGHLIGHT_COLOR.getBlue()) / 3);
+        }
+        return highlightBackground;
+    }
+
+    /**
+     * Updates look and feel of reused components.
+     */
+    public void updateUI() {
+        SwingUtilities.updateComponentTreeUI(nullLabel);
+        SwingUtilities.updateComponentTreeUI(cellPanel);
+        valueLabel.setBorder(null);
+    }
 }
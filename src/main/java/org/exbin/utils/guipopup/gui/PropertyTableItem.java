@@ -27,14 +27,31 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class PropertyTableItem {
 
+    public static final String NULL_VALUE_TEXT = "<null>";
+
     private String valueName;
     private String typeName;
     private Object value;
+    private final int depth;
+    private boolean expanded = false;
+    @Nullable
+    private final ValueReader valueReader;
+    private long changeTime = 0;
 
     public PropertyTableItem(String valueName, String typeName, @Nullable Object value) {
+        this(valueName, typeName, value, 0);
+    }
+
+    public PropertyTableItem(String valueName, String typeName, @Nullable Object value, int depth) {
+        this(valueName, typeName, value, depth, null);
+    }
+
+    public PropertyTableItem(String valueName, String typeName, @Nullable Object value, int depth, @Nullable ValueReader valueReader) {
         this.valueName = valueName;
         this.typeName = typeName;
         this.value = value;
+        this.depth = depth;
+        this.valueReader = valueReader;
     }
 
     @Nonnull
@@ -64,6 +81,81 @@ public class PropertyTableItem {
         this.value = value;
     }
 
+    /**
+     * Reads value again from its source.
+     *
+     * @param time current time in milliseconds recorded as change time
+     * @return true if value changed
+     */
+    public boolean refreshValue(long time) {
+        if (valueReader == null) {
+            return false;
+        }
+
+        Object newValue = valueReader.read();
+        if (newValue == value || (newValue != null && convertToBasicType(newValue) instanceof String && newValue.equals(value))) {
+            return false;
+        }
+
+        value = newValue;
+        changeTime = time;
+        return true;
+    }
+
+    /**
+     * Returns time of last detected value change.
+     *
+     * @return time in milliseconds or 0 if not changed
+     */
+    public long getChangeTime() {
+        return changeTime;
+    }
+
+    public void setChangeTime(long changeTime) {
+        this.changeTime = changeTime;
+    }
+
+    /**
+     * Returns nesting level of item in expanded object tree.
+     *
+     * @return depth, 0 for fields of inspected object
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public boolean isExpanded() {
+        return expanded;
+    }
+
+    public void setExpanded(boolean expanded) {
+        this.expanded = expanded;
+    }
+
+    /**
+     * Returns true if value can be expanded to its fields in place.
+     *
+     * @return true for non-null values of non-basic types
+     */
+    public boolean isExpandable() {
+        return value != null && !(convertToBasicType(value) instanceof String);
+    }
+
+    /**
+     * Returns text shown for value in property table.
+     *
+     * @return value text
+     */
+    @Nonnull
+    public String getValueText() {
+        Object basicType = asBasicType();
+        if (basicType == null) {
+            return NULL_VALUE_TEXT;
+        }
+
+        return basicType instanceof String ? (String) basicType : typeName;
+    }
+
     @Nullable
     public Object asBasicType() {
         return convertToBasicType(value);
@@ -96,4 +188,13 @@ public class PropertyTableItem {
 
         return value;
     }
+
+    /**
+     * Reader of current value from its source.
+     */
+    public interface ValueReader {
+
+        @Nullable
+        Object read();
+    }
 }
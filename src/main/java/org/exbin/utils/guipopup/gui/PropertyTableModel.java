@@ -16,8 +16,11 @@
 package org.exbin.utils.guipopup.gui;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.swing.table.AbstractTableModel;
 
@@ -30,6 +33,8 @@ import javax.swing.table.AbstractTableModel;
 public class PropertyTableModel extends AbstractTableModel {
 
     private List<PropertyTableItem> items;
+    private PropertyFilterIndex filterIndex = null;
+    private int[] filteredRows = null;
 
     private final String[] columnNames;
     private Class[] columnTypes = new Class[]{
@@ -44,7 +49,7 @@ public class PropertyTableModel extends AbstractTableModel {
 
     @Override
     public int getRowCount() {
-        return items.size();
+        return filteredRows == null ? items.size() : filteredRows.length;
     }
 
     @Override
@@ -84,25 +89,170 @@ public class PropertyTableModel extends AbstractTableModel {
 
     @Nonnull
     public PropertyTableItem getRow(int rowIndex) {
-        return items.get(rowIndex);
+        return items.get(filteredRows == null ? rowIndex : filteredRows[rowIndex]);
+    }
+
+    /**
+     * Filters shown rows by text matching name, type or value.
+     *
+     * @param filterText filter text, empty text shows all rows
+     */
+    public void setFilter(String filterText) {
+        if (filterText.isEmpty()) {
+            if (filteredRows == null) {
+                return;
+            }
+            filteredRows = null;
+        } else {
+            filteredRows = getFilterIndex().filter(filterText);
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Returns filter index of current items, creating it if necessary.
+     *
+     * @return filter index
+     */
+    @Nonnull
+    public PropertyFilterIndex getFilterIndex() {
+        if (filterIndex == null) {
+            filterIndex = new PropertyFilterIndex(items);
+        }
+
+        return filterIndex;
+    }
+
+    /**
+     * Shows rows filtered by given index, typically on background thread.
+     * <p>
+     * Result is ignored if items were replaced in the meantime.
+     *
+     * @param index filter index which produced rows
+     * @param rows sorted indexes of matching rows or null for all rows
+     */
+    public void setFilteredRows(PropertyFilterIndex index, @Nullable int[] rows) {
+        if (filterIndex != index) {
+            return;
+        }
+
+        filteredRows = rows;
+        fireTableDataChanged();
+    }
+
+    public boolean isFiltered() {
+        return filteredRows != null;
+    }
+
+    /**
+     * Converts index in list of all items to index of shown row.
+     *
+     * @param itemIndex item index
+     * @return row index or -1 if item is filtered out
+     */
+    public int convertRowIndexToView(int itemIndex) {
+        if (filteredRows == null) {
+            return itemIndex < items.size() ? itemIndex : -1;
+        }
+
+        int position = Arrays.binarySearch(filteredRows, itemIndex);
+        return position >= 0 ? position : -1;
+    }
+
+    /**
+     * Converts index of shown row to index in list of all items.
+     *
+     * @param rowIndex row index
+     * @return item index
+     */
+    public int convertRowIndexToModel(int rowIndex) {
+        return filteredRows == null ? rowIndex : filteredRows[rowIndex];
     }
 
     public void removeAll() {
-        int size = items.size();
-        items.clear();
+        int size = getRowCount();
+        filterIndex = null;
+        filteredRows = null;
+        items = new ArrayList<>();
         if (size > 0) {
             fireTableRowsDeleted(0, size - 1);
         }
     }
 
     public void removeRow(int rowIndex) {
+        clearFilter();
         items.remove(rowIndex);
         fireTableRowsDeleted(rowIndex, rowIndex);
     }
 
     public void addRow(PropertyTableItem rowData) {
-        items.add(rowData);
-        fireTableRowsInserted(items.size() - 1, items.size() - 1);
+        addRows(Collections.singletonList(rowData));
+    }
+
+    /**
+     * Appends batch of rows firing single insertion event.
+     *
+     * @param rows rows to append
+     */
+    public void addRows(List<PropertyTableItem> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        int firstRow = items.size();
+        items.addAll(rows);
+        if (filteredRows == null) {
+            filterIndex = null;
+            fireTableRowsInserted(firstRow, items.size() - 1);
+            return;
+        }
+
+        int firstViewRow = filteredRows.length;
+        filteredRows = filterIndex.appendRows(firstRow);
+        if (filteredRows.length > firstViewRow) {
+            fireTableRowsInserted(firstViewRow, filteredRows.length - 1);
+        }
+    }
+
+    /**
+     * Inserts rows at given position firing single insertion event.
+     *
+     * @param rowIndex index of first inserted row
+     * @param rows rows to insert
+     */
+    public void insertRows(int rowIndex, List<PropertyTableItem> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        clearFilter();
+        items.addAll(rowIndex, rows);
+        fireTableRowsInserted(rowIndex, rowIndex + rows.size() - 1);
+    }
+
+    /**
+     * Removes range of rows firing single deletion event.
+     *
+     * @param fromIndex index of first removed row
+     * @param toIndex index after last removed row
+     */
+    public void removeRows(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+
+        clearFilter();
+        items.subList(fromIndex, toIndex).clear();
+        fireTableRowsDeleted(fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Returns true if rows can be inserted and removed.
+     *
+     * @return false for virtual list of rows
+     */
+    public boolean isModifiable() {
+        return !(items instanceof ArrayPropertyItems || items instanceof CollectionPropertyItems) && filteredRows == null;
     }
 
     @Nonnull
@@ -110,8 +260,28 @@ public class PropertyTableModel extends AbstractTableModel {
         return items;
     }
 
-    public void setItems(List<PropertyTableItem> attributes) {
-        this.items = attributes;
+    /**
+     * Replaces all rows with given items firing single change event.
+     * <p>
+     * List can be read-only virtual list such as {@link ArrayPropertyItems} or
+     * {@link CollectionPropertyItems}, adding or removing single rows is not
+     * supported then.
+     *
+     * @param items new list of items, list is used directly
+     */
+    public void setItems(List<PropertyTableItem> items) {
+        this.items = items;
+        filterIndex = null;
+        filteredRows = null;
+        fireTableDataChanged();
+    }
+
+    private void clearFilter() {
+        filterIndex = null;
+        if (filteredRows != null) {
+            filteredRows = null;
+            fireTableDataChanged();
+        }
     }
 
     @Nonnull
@@ -16,15 +16,52 @@
 package org.exbin.utils.guipopup.gui;
 
 import java.awt.Component;
-import java.lang.reflect.Array;
-import java.lang.reflect.Field;
+import java.awt.Dialog;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Window;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.Icon;
 import javax.swing.JComponent;
+import javax.swing.JDialog;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import javax.swing.JScrollPane;
 import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.ToolTipManager;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumnModel;
+import org.exbin.framework.utils.LanguageUtils;
+import org.exbin.utils.guipopup.inspect.BeanPropertiesCache;
+import org.exbin.utils.guipopup.inspect.BeanPropertyDescriptor;
+import org.exbin.utils.guipopup.inspect.BeanPropertyReader;
+import org.exbin.utils.guipopup.inspect.ClassFieldsCache;
+import org.exbin.utils.guipopup.inspect.ComponentTreeExporter;
+import org.exbin.utils.guipopup.inspect.FieldDescriptor;
+import org.exbin.utils.guipopup.inspect.ReferencePathFinder;
+import org.exbin.utils.guipopup.inspect.RetainedSizeEstimator;
 
 /**
  * Panel for properties of the inspected instance.
@@ -34,12 +71,37 @@ import javax.swing.table.TableColumnModel;
 @ParametersAreNonnullByDefault
 public class PropertyTablePanel extends javax.swing.JPanel {
 
+    public static final int DEFAULT_WATCH_INTERVAL = 500;
+    public static final int MIN_WATCH_INTERVAL = 100;
+    private static final int EXPANDED_ARRAY_LIMIT = 1000;
+    private static final int SNAPSHOT_CACHE_SIZE = 10;
+    private static final int CLASS_BREAKDOWN_LIMIT = 100;
+    private static final int LOGICAL_VIEW_LIMIT = 10000;
+    private static final long BEAN_REFRESH_TIMEOUT = 100;
+
+    private final java.util.ResourceBundle resourceBundle = LanguageUtils.getResourceBundleByClass(PropertyTablePanel.class);
     private final PropertyTableModel tableModel;
     private final PropertyTableCellRenderer valueCellRenderer;
     private final TableCellRenderer nameCellRenderer;
     private final PropertyTableCellEditor valueCellEditor;
 
+    private final ExpandIcon expandIcon = new ExpandIcon();
+    private final Timer watchTimer;
+    private final BeanPropertyReader beanRefreshReader = new BeanPropertyReader(BEAN_REFRESH_TIMEOUT);
+    private final ReferenceQueue<Object> snapshotQueue = new ReferenceQueue<>();
+    private final Map<IdentityKey, FieldsSnapshot> snapshotCache = new LinkedHashMap<IdentityKey, FieldsSnapshot>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<IdentityKey, FieldsSnapshot> eldest) {
+            return size() > SNAPSHOT_CACHE_SIZE;
+        }
+    };
+    private FieldsLoader fieldsLoader = null;
+    private FilterWorker filterWorker = null;
+    private RetainedSizeWorker retainedSizeWorker = null;
+    private ReferencesWorker referencesWorker = null;
+    private Object inspectedObject = null;
     private boolean showStaticFields = false;
+    private boolean beanProperties = false;
 
     public PropertyTablePanel() {
         tableModel = new PropertyTableModel();
@@ -52,19 +114,71 @@ public class PropertyTablePanel extends javax.swing.JPanel {
         columns.getColumn(0).setWidth(190);
         columns.getColumn(1).setWidth(190);
         nameCellRenderer = new DefaultTableCellRenderer() {
+
+            private PropertyTableItem tableItem = null;
+
             @Override
             public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-                JComponent component = (JComponent) super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                PropertyTableItem tableItem = ((PropertyTableModel) table.getModel()).getRow(row);
-                component.setToolTipText("(" + tableItem.getTypeName() + ") " + tableItem.getValueName());
-                return component;
+                tableItem = ((PropertyTableModel) table.getModel()).getRow(row);
+                expandIcon.setItem(tableItem);
+                super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+                setIcon(expandIcon);
+                return this;
+            }
+
+            @Nullable
+            @Override
+            public String getToolTipText(MouseEvent event) {
+                // Tooltip is computed only when requested for last prepared cell
+                return tableItem == null ? null : "(" + tableItem.getTypeName() + ") " + tableItem.getValueName();
             }
         };
         columns.getColumn(0).setCellRenderer(nameCellRenderer);
         valueCellRenderer = new PropertyTableCellRenderer();
         columns.getColumn(1).setCellRenderer(valueCellRenderer);
+        ToolTipManager.sharedInstance().registerComponent(propertiesTable);
         valueCellEditor = new PropertyTableCellEditor();
+        valueCellEditor.setExpandListener(this::toggleExpanded);
+        rawViewCheckBox.setVisible(false);
+        watchTimer = new Timer(DEFAULT_WATCH_INTERVAL, e -> refreshVisibleRows());
+        watchTimer.setCoalesce(true);
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                updateWatchTimer();
+            }
+        });
+        filterTextField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+        });
         columns.getColumn(1).setCellEditor(valueCellEditor);
+        propertiesTable.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int row = propertiesTable.rowAtPoint(e.getPoint());
+                int column = propertiesTable.columnAtPoint(e.getPoint());
+                if (row < 0 || column < 0 || propertiesTable.convertColumnIndexToModel(column) != 0) {
+                    return;
+                }
+
+                int cellX = e.getX() - propertiesTable.getCellRect(row, column, false).x;
+                if (cellX < (tableModel.getRow(row).getDepth() + 1) * ExpandIcon.INDENT) {
+                    toggleExpanded(row);
+                }
+            }
+        });
 
         propertiesTable.setDefaultRenderer(Object.class, new DefaultTableCellRenderer() {
             @Override
@@ -79,58 +193,653 @@ public class PropertyTablePanel extends javax.swing.JPanel {
         });
     }
 
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        if (valueCellRenderer != null) {
+            valueCellRenderer.updateUI();
+        }
+        if (valueCellEditor != null) {
+            valueCellEditor.updateUI();
+        }
+    }
+
+    /**
+     * Sets object to inspect.
+     * <p>
+     * Fields are read on background thread and rows are added in batches.
+     *
+     * @param object inspected object
+     */
     public void setObject(Object object) {
         if (propertiesTable.isEditing()) {
             propertiesTable.getCellEditor().cancelCellEditing();
         }
 
-        tableModel.removeAll();
+        if (!filterTextField.getText().isEmpty()) {
+            filterTextField.setText("");
+        }
+
+        if (fieldsLoader != null) {
+            FieldsLoader previousLoader = fieldsLoader;
+            fieldsLoader = null;
+            previousLoader.cancel(false);
+        }
+        cancelRetainedSizeEstimation();
+        cancelReferencesSearch();
+        inspectedObject = object;
 
         Class<?> clazz = object.getClass();
-        if (clazz.isArray()) {
-            int length = Array.getLength(object);
-            for (int i = 0; i < length; i++) {
-                Object field = Array.get(object, i);
-                PropertyTableItem item = new PropertyTableItem(String.valueOf(i), field == null ? "-" : field.getClass().getTypeName(), field);
-                tableModel.addRow(item);
+        boolean logicalViewSupported = !beanProperties && CollectionPropertyItems.isSupported(object);
+        rawViewCheckBox.setVisible(logicalViewSupported);
+        if (clazz.isArray() && !beanProperties) {
+            statusLabel.setVisible(false);
+            setJumpToIndexVisible(true);
+            jumpToIndexTextField.setText("");
+            tableModel.setItems(new ArrayPropertyItems(object));
+            return;
+        }
+
+        if (logicalViewSupported && !rawViewCheckBox.isSelected()) {
+            CollectionPropertyItems collectionItems = new CollectionPropertyItems(object, LOGICAL_VIEW_LIMIT);
+            showShownEntries(collectionItems);
+            setJumpToIndexVisible(true);
+            jumpToIndexTextField.setText("");
+            tableModel.setItems(collectionItems);
+            return;
+        }
+
+        setJumpToIndexVisible(false);
+        purgeCollectedSnapshots();
+        FieldsSnapshot snapshot = beanProperties ? null : snapshotCache.get(new IdentityKey(object, null));
+        if (snapshot != null) {
+            List<PropertyTableItem> items = new ArrayList<>(snapshot.fields.size());
+            for (FieldDescriptor field : snapshot.fields) {
+                items.add(createFieldItem(field, object, 0));
             }
+            showUnreadableFields(snapshot.unreadableFields);
+            tableModel.setItems(items);
+            return;
+        }
+
+        statusLabel.setText(resourceBundle.getString("statusLabel.loadingText"));
+        statusLabel.setVisible(true);
+        tableModel.setItems(new ArrayList<>());
+        fieldsLoader = new FieldsLoader(object, showStaticFields, beanProperties);
+        fieldsLoader.execute();
+    }
+
+    /**
+     * Returns true if fields of inspected object are still being loaded.
+     *
+     * @return true if loading
+     */
+    public boolean isLoading() {
+        return fieldsLoader != null;
+    }
+
+    /**
+     * Expands or collapses fields of value in given row in place.
+     * <p>
+     * Fields are reflected only when expanded and rows of collapsed subtree
+     * are released.
+     *
+     * @param row row index
+     * @return true if row was toggled
+     */
+    public boolean toggleExpanded(int row) {
+        if (!tableModel.isModifiable() || row < 0 || row >= tableModel.getRowCount()) {
+            return false;
+        }
+
+        PropertyTableItem item = tableModel.getRow(row);
+        if (!item.isExpandable()) {
+            return false;
+        }
+
+        if (propertiesTable.isEditing()) {
+            propertiesTable.getCellEditor().cancelCellEditing();
+        }
+
+        if (item.isExpanded()) {
+            collapseItem(row);
         } else {
-            while (clazz != null) {
-                Field[] fields = clazz.getDeclaredFields();
-                for (Field field : fields) {
-                    if (!showStaticFields && java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-                        continue;
-                    }
-
-                    Object value = accessField(field, object);
-                    PropertyTableItem item = new PropertyTableItem(field.getName(), field.getGenericType().getTypeName(), value);
-                    tableModel.addRow(item);
+            item.setExpanded(true);
+            tableModel.insertRows(row + 1, createChildItems(item.getValue(), item.getDepth() + 1));
+            tableModel.fireTableRowsUpdated(row, row);
+        }
+        return true;
+    }
+
+    /**
+     * Collapses expanded item and removes rows of its subtree.
+     * <p>
+     * Works on all items, active filter is cleared.
+     *
+     * @param index item index in list of all items
+     */
+    private void collapseItem(int index) {
+        List<PropertyTableItem> items = tableModel.getItems();
+        PropertyTableItem item = items.get(index);
+        int end = index + 1;
+        while (end < items.size() && items.get(end).getDepth() > item.getDepth()) {
+            end++;
+        }
+        item.setExpanded(false);
+        tableModel.removeRows(index + 1, end);
+        tableModel.fireTableRowsUpdated(index, index);
+    }
+
+    @Nonnull
+    private List<PropertyTableItem> createChildItems(Object value, int depth) {
+        List<PropertyTableItem> children = new ArrayList<>();
+        if (value.getClass().isArray()) {
+            ArrayPropertyItems arrayItems = new ArrayPropertyItems(value, 0);
+            int length = arrayItems.size();
+            int limit = Math.min(length, EXPANDED_ARRAY_LIMIT);
+            for (int i = 0; i < limit; i++) {
+                children.add(arrayItems.createItem(i, depth));
+            }
+            if (length > limit) {
+                String remaining = java.text.MessageFormat.format(resourceBundle.getString("moreElementsText"), length - limit);
+                children.add(new PropertyTableItem("...", "", remaining, depth));
+            }
+            return children;
+        }
+
+        if (CollectionPropertyItems.isSupported(value) && !rawViewCheckBox.isSelected()) {
+            CollectionPropertyItems collectionItems = new CollectionPropertyItems(value, EXPANDED_ARRAY_LIMIT, 0);
+            for (int i = 0; i < collectionItems.size(); i++) {
+                children.add(collectionItems.createItem(i, depth));
+            }
+            if (collectionItems.isTruncated()) {
+                int sourceSize = collectionItems.getSourceSize();
+                String remaining = java.text.MessageFormat.format(resourceBundle.getString("moreElementsText"), sourceSize < 0 ? "?" : sourceSize - collectionItems.size());
+                children.add(new PropertyTableItem("...", "", remaining, depth));
+            }
+            return children;
+        }
+
+        for (FieldDescriptor field : ClassFieldsCache.getFields(value.getClass())) {
+            if (!showStaticFields && field.isStatic()) {
+                continue;
+            }
+
+            children.add(createFieldItem(field, value, depth));
+        }
+        return children;
+    }
+
+    @Nonnull
+    private static PropertyTableItem createFieldItem(FieldDescriptor field, Object instance, int depth) {
+        return new PropertyTableItem(field.getName(), field.getTypeName(), field.getValue(instance), depth, field.isReadable() ? () -> field.getValue(instance) : null);
+    }
+
+    /**
+     * Selects and scrolls to row of given index.
+     *
+     * @param index row index, for filtered rows index in all rows
+     * @return true if index is valid and row is shown
+     */
+    public boolean jumpToIndex(int index) {
+        if (index < 0) {
+            return false;
+        }
+
+        int row = tableModel.convertRowIndexToView(index);
+        if (row < 0) {
+            return false;
+        }
+
+        if (propertiesTable.isEditing()) {
+            propertiesTable.getCellEditor().cancelCellEditing();
+        }
+        propertiesTable.changeSelection(row, 0, false, false);
+        return true;
+    }
+
+    /**
+     * Enables periodic refresh of shown values.
+     * <p>
+     * Refresh is paused while panel is not showing.
+     *
+     * @param watchEnabled true to enable watch mode
+     */
+    public void setWatchEnabled(boolean watchEnabled) {
+        if (watchCheckBox.isSelected() != watchEnabled) {
+            watchCheckBox.setSelected(watchEnabled);
+        }
+        updateWatchTimer();
+    }
+
+    public boolean isWatchEnabled() {
+        return watchCheckBox.isSelected();
+    }
+
+    /**
+     * Sets watch refresh interval.
+     *
+     * @param interval interval in milliseconds, limited to minimum interval
+     */
+    public void setWatchInterval(int interval) {
+        int limitedInterval = Math.max(MIN_WATCH_INTERVAL, interval);
+        watchTimer.setDelay(limitedInterval);
+        watchTimer.setInitialDelay(limitedInterval);
+        if (!watchIntervalSpinner.getValue().equals(limitedInterval)) {
+            watchIntervalSpinner.setValue(limitedInterval);
+        }
+    }
+
+    /**
+     * Reads values of visible rows again and updates changed rows.
+     * <p>
+     * Changed rows are highlighted for a while, expanded rows with changed
+     * value are collapsed.
+     */
+    public void refreshVisibleRows() {
+        if (fieldsLoader != null || propertiesTable.isEditing()) {
+            return;
+        }
+
+        int rowCount = tableModel.getRowCount();
+        if (rowCount == 0) {
+            return;
+        }
+
+        Rectangle visibleRect = propertiesTable.getVisibleRect();
+        int firstRow = propertiesTable.rowAtPoint(visibleRect.getLocation());
+        if (firstRow < 0) {
+            return;
+        }
+        int lastRow = propertiesTable.rowAtPoint(new Point(visibleRect.x, visibleRect.y + visibleRect.height - 1));
+        if (lastRow < 0) {
+            lastRow = rowCount - 1;
+        }
+
+        long time = System.currentTimeMillis();
+        List<Integer> collapseIndexes = new ArrayList<>();
+        for (int row = firstRow; row <= lastRow; row++) {
+            PropertyTableItem item = tableModel.getRow(row);
+            if (item.refreshValue(time)) {
+                if (item.isExpanded()) {
+                    collapseIndexes.add(tableModel.convertRowIndexToModel(row));
                 }
-                clazz = clazz.getSuperclass();
+                tableModel.fireTableRowsUpdated(row, row);
+            } else if (item.getChangeTime() != 0 && time - item.getChangeTime() >= PropertyTableCellRenderer.CHANGE_HIGHLIGHT_DURATION) {
+                item.setChangeTime(0);
+                tableModel.fireTableRowsUpdated(row, row);
             }
         }
+
+        if (collapseIndexes.isEmpty()) {
+            return;
+        }
+
+        // Subtrees of changed values are stale, collapse from bottom to keep item indexes valid
+        boolean filtered = tableModel.isFiltered();
+        for (int i = collapseIndexes.size() - 1; i >= 0; i--) {
+            collapseItem(collapseIndexes.get(i));
+        }
+        if (filtered) {
+            // Collapsing clears filter, match remaining rows again
+            updateFilter();
+        }
     }
 
-    @Nullable
-    private static Object accessField(Field field, Object object) {
-        Object result = null;
-        try {
-            result = field.get(object);
-        } catch (Throwable ex) {
-            try {
-                // Try to make field accessible
-                field.setAccessible(true);
+    private void updateWatchTimer() {
+        if (watchCheckBox.isSelected() && isShowing()) {
+            if (!watchTimer.isRunning()) {
+                watchTimer.start();
+            }
+        } else {
+            watchTimer.stop();
+        }
+    }
+
+    private void updateFilter() {
+        if (propertiesTable.isEditing()) {
+            propertiesTable.getCellEditor().cancelCellEditing();
+        }
+
+        cancelFilter();
+        String filterText = filterTextField.getText();
+        PropertyFilterIndex filterIndex = tableModel.getFilterIndex();
+        if (filterText.isEmpty() || !filterIndex.isArrayFilter()) {
+            tableModel.setFilter(filterText);
+            return;
+        }
+
+        // Array can be large, elements are matched on background thread
+        statusLabel.setText(resourceBundle.getString("statusLabel.filteringText"));
+        statusLabel.setVisible(true);
+        filterWorker = new FilterWorker(filterIndex, filterText);
+        filterWorker.execute();
+    }
+
+    private void cancelFilter() {
+        if (filterWorker != null) {
+            FilterWorker previousWorker = filterWorker;
+            filterWorker = null;
+            previousWorker.cancel(false);
+            statusLabel.setVisible(false);
+        }
+    }
+
+    private void showShownEntries(CollectionPropertyItems collectionItems) {
+        statusLabel.setVisible(collectionItems.isTruncated());
+        if (collectionItems.isTruncated()) {
+            int sourceSize = collectionItems.getSourceSize();
+            statusLabel.setText(sourceSize < 0
+                    ? java.text.MessageFormat.format(resourceBundle.getString("statusLabel.firstEntriesText"), collectionItems.size())
+                    : java.text.MessageFormat.format(resourceBundle.getString("statusLabel.firstEntriesOfText"), collectionItems.size(), sourceSize));
+        }
+    }
+
+    private void setJumpToIndexVisible(boolean visible) {
+        jumpToIndexLabel.setVisible(visible);
+        jumpToIndexTextField.setVisible(visible);
+    }
+
+    /**
+     * Background reader of object fields or bean properties publishing rows in
+     * batches.
+     */
+    @ParametersAreNonnullByDefault
+    private class FieldsLoader extends SwingWorker<Integer, PropertyTableItem> {
+
+        private final Object object;
+        private final boolean includeStatic;
+        private final boolean beanProperties;
+        private final List<FieldDescriptor> loadedFields = new ArrayList<>();
+
+        public FieldsLoader(Object object, boolean includeStatic, boolean beanProperties) {
+            this.object = object;
+            this.includeStatic = includeStatic;
+            this.beanProperties = beanProperties;
+        }
+
+        @Nonnull
+        @Override
+        protected Integer doInBackground() {
+            if (beanProperties) {
+                return loadBeanProperties();
+            }
+
+            int unreadableFields = 0;
+            for (FieldDescriptor field : ClassFieldsCache.getFields(object.getClass())) {
+                if (isCancelled()) {
+                    break;
+                }
+                if (!includeStatic && field.isStatic()) {
+                    continue;
+                }
+
+                if (!field.isReadable()) {
+                    unreadableFields++;
+                }
+                loadedFields.add(field);
+                publish(createFieldItem(field, object, 0));
+            }
+
+            return unreadableFields;
+        }
+
+        private int loadBeanProperties() {
+            BeanPropertyReader reader = new BeanPropertyReader();
+            BeanPropertyDescriptor[] properties = BeanPropertiesCache.getProperties(object.getClass());
+            // Start all getters first so that slow ones run concurrently
+            BeanPropertyReader.PendingRead[] pendingReads = new BeanPropertyReader.PendingRead[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                pendingReads[i] = reader.submit(properties[i], object);
+            }
+
+            int unreadProperties = 0;
+            for (int i = 0; i < properties.length; i++) {
+                if (isCancelled()) {
+                    cancelReads(pendingReads, i);
+                    break;
+                }
+
+                BeanPropertyDescriptor property = properties[i];
+                BeanPropertyReader.ReadResult result;
                 try {
-                    result = field.get(object);
-                } catch (Throwable ex3) {
+                    result = pendingReads[i].get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    cancelReads(pendingReads, i);
+                    break;
+                }
+
+                Object value = getBeanValue(result);
+                PropertyTableItem.ValueReader valueReader = null;
+                if (result.getStatus() == BeanPropertyReader.ReadStatus.OK) {
+                    valueReader = new BeanValueReader(property, object, value);
+                } else {
+                    unreadProperties++;
+                }
+                publish(new PropertyTableItem(property.getName(), property.getTypeName(), value, 0, valueReader));
+            }
+
+            return unreadProperties;
+        }
+
+        private void cancelReads(BeanPropertyReader.PendingRead[] pendingReads, int fromIndex) {
+            for (int i = fromIndex; i < pendingReads.length; i++) {
+                pendingReads[i].cancel();
+            }
+        }
+
+        @Override
+        protected void process(List<PropertyTableItem> chunks) {
+            if (fieldsLoader == this) {
+                tableModel.addRows(chunks);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (fieldsLoader != this || isCancelled()) {
+                return;
+            }
+
+            fieldsLoader = null;
+            try {
+                int unreadableFields = get();
+                showUnreadableFields(unreadableFields);
+                if (!beanProperties) {
+                    purgeCollectedSnapshots();
+                    snapshotCache.put(new IdentityKey(object, snapshotQueue), new FieldsSnapshot(loadedFields, unreadableFields));
                 }
-                field.setAccessible(false);
-            } catch (Throwable ex2) {
-                // Can't set it back, just ignore it
+            } catch (InterruptedException | ExecutionException ex) {
+                statusLabel.setVisible(false);
+                Logger.getLogger(PropertyTablePanel.class.getName()).log(Level.SEVERE, null, ex);
             }
         }
+    }
+
+    /**
+     * Background filter of array rows.
+     */
+    private class FilterWorker extends SwingWorker<int[], Void> {
+
+        private final PropertyFilterIndex filterIndex;
+        private final String filterText;
+
+        public FilterWorker(PropertyFilterIndex filterIndex, String filterText) {
+            this.filterIndex = filterIndex;
+            this.filterText = filterText;
+        }
 
-        return result;
+        @Nullable
+        @Override
+        protected int[] doInBackground() {
+            return filterIndex.filter(filterText, this::isCancelled);
+        }
+
+        @Override
+        protected void done() {
+            if (filterWorker != this || isCancelled()) {
+                return;
+            }
+
+            filterWorker = null;
+            statusLabel.setVisible(false);
+            try {
+                tableModel.setFilteredRows(filterIndex, get());
+            } catch (InterruptedException | ExecutionException ex) {
+                Logger.getLogger(PropertyTablePanel.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Background estimator of retained size reporting progress.
+     */
+    @ParametersAreNonnullByDefault
+    private class RetainedSizeWorker extends SwingWorker<RetainedSizeEstimator.Result, long[]> {
+
+        private final Object object;
+
+        public RetainedSizeWorker(Object object) {
+            this.object = object;
+        }
+
+        @Nonnull
+        @Override
+        protected RetainedSizeEstimator.Result doInBackground() {
+            return new RetainedSizeEstimator().estimate(object, (objectCount, totalSize) -> publish(new long[]{objectCount, totalSize}), this::isCancelled);
+        }
+
+        @Override
+        protected void process(List<long[]> chunks) {
+            if (retainedSizeWorker == this) {
+                long[] progress = chunks.get(chunks.size() - 1);
+                statusLabel.setText(java.text.MessageFormat.format(resourceBundle.getString("statusLabel.estimatingProgressText"), progress[0], progress[1]));
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (retainedSizeWorker != this || isCancelled()) {
+                return;
+            }
+
+            retainedSizeWorker = null;
+            retainedSizeButton.setText(resourceBundle.getString("retainedSizeButton.text"));
+            try {
+                showRetainedSize(get());
+            } catch (InterruptedException | ExecutionException ex) {
+                statusLabel.setVisible(false);
+                Logger.getLogger(PropertyTablePanel.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Background search for reference paths reporting progress.
+     */
+    @ParametersAreNonnullByDefault
+    private class ReferencesWorker extends SwingWorker<List<ReferencePathFinder.ReferencePath>, Long> {
+
+        private final Object object;
+        private final List<Component> roots;
+        private final List<Object> excluded;
+
+        public ReferencesWorker(Object object, List<Component> roots, List<Object> excluded) {
+            this.object = object;
+            this.roots = roots;
+            this.excluded = excluded;
+        }
+
+        @Nonnull
+        @Override
+        protected List<ReferencePathFinder.ReferencePath> doInBackground() {
+            return new ReferencePathFinder().findPaths(object, roots, excluded, this::publish, this::isCancelled);
+        }
+
+        @Override
+        protected void process(List<Long> chunks) {
+            if (referencesWorker == this) {
+                statusLabel.setText(java.text.MessageFormat.format(resourceBundle.getString("statusLabel.searchingReferencesProgressText"), chunks.get(chunks.size() - 1)));
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (referencesWorker != this || isCancelled()) {
+                return;
+            }
+
+            referencesWorker = null;
+            referencesButton.setText(resourceBundle.getString("referencesButton.text"));
+            try {
+                showReferencePaths(get());
+            } catch (InterruptedException | ExecutionException ex) {
+                statusLabel.setVisible(false);
+                Logger.getLogger(PropertyTablePanel.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Reusable icon with indentation and expansion marker of name cell.
+     */
+    @ParametersAreNonnullByDefault
+    private static class ExpandIcon implements Icon {
+
+        private static final int INDENT = 12;
+
+        private int depth;
+        private boolean expandable;
+        private boolean expanded;
+
+        public void setItem(PropertyTableItem item) {
+            depth = item.getDepth();
+            expandable = item.isExpandable();
+            expanded = item.isExpanded();
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            if (!expandable) {
+                return;
+            }
+
+            int size = INDENT / 2;
+            int left = x + depth * INDENT + (INDENT - size) / 2;
+            int top = y + (getIconHeight() - size) / 2;
+            g.setColor(c.getForeground());
+            if (expanded) {
+                g.fillPolygon(new int[]{left, left + size, left + size / 2}, new int[]{top + 1, top + 1, top + size - 1}, 3);
+            } else {
+                g.fillPolygon(new int[]{left + 1, left + size - 1, left + 1}, new int[]{top, top + size / 2, top + size}, 3);
+            }
+        }
+
+        @Override
+        public int getIconWidth() {
+            return (depth + 1) * INDENT;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return INDENT;
+        }
+    }
+
+    public boolean isBeanProperties() {
+        return beanProperties;
+    }
+
+    /**
+     * Switches panel to show JavaBeans properties read through getters instead
+     * of fields.
+     *
+     * @param beanProperties true for bean properties
+     */
+    public void setBeanProperties(boolean beanProperties) {
+        this.beanProperties = beanProperties;
+        snapshotCache.clear();
     }
 
     public boolean isShowStaticFields() {
@@ -139,6 +848,294 @@ public class PropertyTablePanel extends javax.swing.JPanel {
 
     public void setShowStaticFields(boolean showStaticFields) {
         this.showStaticFields = showStaticFields;
+        snapshotCache.clear();
+    }
+
+    /**
+     * Stops background work and watch refresh and releases inspected object
+     * and cached snapshots.
+     */
+    public void release() {
+        if (propertiesTable.isEditing()) {
+            propertiesTable.getCellEditor().cancelCellEditing();
+        }
+
+        if (fieldsLoader != null) {
+            FieldsLoader previousLoader = fieldsLoader;
+            fieldsLoader = null;
+            previousLoader.cancel(false);
+        }
+        cancelFilter();
+        cancelRetainedSizeEstimation();
+        cancelReferencesSearch();
+        watchTimer.stop();
+        snapshotCache.clear();
+        inspectedObject = null;
+        tableModel.setItems(new ArrayList<>());
+    }
+
+    /**
+     * Starts estimation of retained size of inspected object on background
+     * thread.
+     * <p>
+     * Progress is shown in status line and per-class breakdown is shown when
+     * finished.
+     */
+    public void estimateRetainedSize() {
+        if (inspectedObject == null) {
+            return;
+        }
+
+        cancelRetainedSizeEstimation();
+        retainedSizeButton.setText(resourceBundle.getString("retainedSizeButton.cancelText"));
+        statusLabel.setText(resourceBundle.getString("statusLabel.estimatingText"));
+        statusLabel.setVisible(true);
+        retainedSizeWorker = new RetainedSizeWorker(inspectedObject);
+        retainedSizeWorker.execute();
+    }
+
+    public void cancelRetainedSizeEstimation() {
+        if (retainedSizeWorker != null) {
+            RetainedSizeWorker previousWorker = retainedSizeWorker;
+            retainedSizeWorker = null;
+            previousWorker.cancel(false);
+            retainedSizeButton.setText(resourceBundle.getString("retainedSizeButton.text"));
+            statusLabel.setVisible(false);
+        }
+    }
+
+    public boolean isEstimatingRetainedSize() {
+        return retainedSizeWorker != null;
+    }
+
+    private void showRetainedSize(RetainedSizeEstimator.Result result) {
+        String key = result.isTruncated() ? "statusLabel.retainedSizePartialText" : "statusLabel.retainedSizeText";
+        statusLabel.setText(java.text.MessageFormat.format(resourceBundle.getString(key), result.getTotalSize(), result.getObjectCount(), result.getUnreadableReferences()));
+        statusLabel.setVisible(true);
+
+        DefaultTableModel breakdownModel = new DefaultTableModel(new Object[]{
+            resourceBundle.getString("retainedSizeBreakdown.classColumn"),
+            resourceBundle.getString("retainedSizeBreakdown.countColumn"),
+            resourceBundle.getString("retainedSizeBreakdown.sizeColumn")}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        List<RetainedSizeEstimator.ClassStats> classStats = result.getClassStats();
+        for (int i = 0; i < Math.min(CLASS_BREAKDOWN_LIMIT, classStats.size()); i++) {
+            RetainedSizeEstimator.ClassStats stats = classStats.get(i);
+            breakdownModel.addRow(new Object[]{stats.getType().getTypeName(), stats.getCount(), stats.getSize()});
+        }
+        JScrollPane breakdownScrollPane = new JScrollPane(new JTable(breakdownModel));
+        JOptionPane.showMessageDialog(this, breakdownScrollPane, resourceBundle.getString("retainedSizeBreakdown.title"), JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Starts search for reference paths from all windows to inspected object
+     * on background thread.
+     */
+    public void findReferences() {
+        if (inspectedObject == null) {
+            return;
+        }
+
+        cancelReferencesSearch();
+        referencesButton.setText(resourceBundle.getString("referencesButton.cancelText"));
+        statusLabel.setText(resourceBundle.getString("statusLabel.searchingReferencesText"));
+        statusLabel.setVisible(true);
+        // Inspector holds inspected object itself, its paths would hide real holders
+        List<Object> excluded = new ArrayList<>();
+        excluded.add(this);
+        Component inspectorPanel = SwingUtilities.getAncestorOfClass(InspectComponentPanel.class, this);
+        if (inspectorPanel != null) {
+            excluded.add(inspectorPanel);
+        }
+        Window inspectorWindow = SwingUtilities.getWindowAncestor(this);
+        if (inspectorWindow != null) {
+            for (Component root : ComponentTreeExporter.getAllWindows()) {
+                if (root instanceof Window && isOwnedBy((Window) root, inspectorWindow)) {
+                    excluded.add(root);
+                }
+            }
+        }
+        referencesWorker = new ReferencesWorker(inspectedObject, ComponentTreeExporter.getAllWindows(), excluded);
+        referencesWorker.execute();
+    }
+
+    private static boolean isOwnedBy(Window window, Window owner) {
+        Window ancestor = window;
+        while (ancestor != null) {
+            if (ancestor == owner) {
+                return true;
+            }
+            ancestor = ancestor.getOwner();
+        }
+        return false;
+    }
+
+    public void cancelReferencesSearch() {
+        if (referencesWorker != null) {
+            ReferencesWorker previousWorker = referencesWorker;
+            referencesWorker = null;
+            previousWorker.cancel(false);
+            referencesButton.setText(resourceBundle.getString("referencesButton.text"));
+            statusLabel.setVisible(false);
+        }
+    }
+
+    public boolean isSearchingReferences() {
+        return referencesWorker != null;
+    }
+
+    private void showReferencePaths(List<ReferencePathFinder.ReferencePath> paths) {
+        statusLabel.setText(java.text.MessageFormat.format(resourceBundle.getString("statusLabel.referencesFoundText"), paths.size()));
+        statusLabel.setVisible(true);
+        if (paths.isEmpty()) {
+            return;
+        }
+
+        JList<ReferencePathFinder.ReferencePath> pathsList = new JList<>(paths.toArray(new ReferencePathFinder.ReferencePath[0]));
+        pathsList.setToolTipText(resourceBundle.getString("referencesList.toolTipText"));
+        pathsList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                ReferencePathFinder.ReferencePath path = pathsList.getSelectedValue();
+                if (e.getClickCount() == 2 && path != null) {
+                    Object holder = path.getHolder();
+                    InspectComponentWindow.inspect(holder, holder.getClass().getName());
+                }
+            }
+        });
+        JOptionPane optionPane = new JOptionPane(new JScrollPane(pathsList), JOptionPane.PLAIN_MESSAGE);
+        JDialog dialog = optionPane.createDialog(this, resourceBundle.getString("referencesDialog.title"));
+        dialog.setModalityType(Dialog.ModalityType.MODELESS);
+        dialog.setResizable(true);
+        dialog.setVisible(true);
+    }
+
+    private void showUnreadableFields(int unreadableFields) {
+        statusLabel.setVisible(unreadableFields > 0);
+        String key = beanProperties ? "statusLabel.unreadPropertiesText" : "statusLabel.unreadableFieldsText";
+        statusLabel.setText(java.text.MessageFormat.format(resourceBundle.getString(key), unreadableFields));
+    }
+
+    /**
+     * Returns value shown for result of bean property read.
+     *
+     * @param result read result
+     * @return value or text describing failed read
+     */
+    @Nullable
+    private Object getBeanValue(BeanPropertyReader.ReadResult result) {
+        switch (result.getStatus()) {
+            case OK:
+                return result.getValue();
+            case TIMEOUT:
+                return resourceBundle.getString("beanProperty.timeoutText");
+            case FAILED:
+                return java.text.MessageFormat.format(resourceBundle.getString("beanProperty.failedText"), String.valueOf(result.getValue()));
+            default:
+                return resourceBundle.getString("beanProperty.unreadableText");
+        }
+    }
+
+    private void purgeCollectedSnapshots() {
+        Object key;
+        while ((key = snapshotQueue.poll()) != null) {
+            snapshotCache.remove((IdentityKey) key);
+        }
+    }
+
+    /**
+     * Loaded fields of recently inspected object.
+     * <p>
+     * Only field descriptors are kept, values are read again when restored so
+     * that snapshot doesn't keep inspected object reachable.
+     */
+    @ParametersAreNonnullByDefault
+    private static class FieldsSnapshot {
+
+        private final List<FieldDescriptor> fields;
+        private final int unreadableFields;
+
+        public FieldsSnapshot(List<FieldDescriptor> fields, int unreadableFields) {
+            this.fields = fields;
+            this.unreadableFields = unreadableFields;
+        }
+    }
+
+    /**
+     * Reader of bean property value for watch refresh.
+     * <p>
+     * Getters often return new instance for each call, previous value is kept
+     * while equal so that row is not reported as changed.
+     */
+    @ParametersAreNonnullByDefault
+    private class BeanValueReader implements PropertyTableItem.ValueReader {
+
+        private final BeanPropertyDescriptor property;
+        private final Object instance;
+        @Nullable
+        private Object lastValue;
+
+        public BeanValueReader(BeanPropertyDescriptor property, Object instance, @Nullable Object value) {
+            this.property = property;
+            this.instance = instance;
+            this.lastValue = value;
+        }
+
+        @Nullable
+        @Override
+        public Object read() {
+            Object value;
+            try {
+                value = getBeanValue(beanRefreshReader.readOnDispatchThread(property, instance));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return lastValue;
+            }
+
+            try {
+                if (value != null && value.equals(lastValue)) {
+                    return lastValue;
+                }
+            } catch (RuntimeException ex) {
+                // Broken equals, value is considered changed
+            }
+
+            lastValue = value;
+            return value;
+        }
+    }
+
+    /**
+     * Weak identity based key of inspected object.
+     */
+    @ParametersAreNonnullByDefault
+    private static class IdentityKey extends WeakReference<Object> {
+
+        private final int hashCode;
+
+        public IdentityKey(Object object, @Nullable ReferenceQueue<Object> queue) {
+            super(object, queue);
+            hashCode = System.identityHashCode(object);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == this) {
+                return true;
+            }
+
+            Object object = get();
+            return object != null && obj instanceof IdentityKey && ((IdentityKey) obj).get() == object;
+        }
     }
     
     /**
@@ -150,12 +1147,99 @@ public class PropertyTablePanel extends javax.swing.JPanel {
     // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
     private void initComponents() {
 
+        toolsPanel = new javax.swing.JPanel();
+        filterLabel = new javax.swing.JLabel();
+        filterTextField = new javax.swing.JTextField();
+        jumpToIndexLabel = new javax.swing.JLabel();
+        jumpToIndexTextField = new javax.swing.JTextField();
+        rawViewCheckBox = new javax.swing.JCheckBox();
+        watchCheckBox = new javax.swing.JCheckBox();
+        watchIntervalSpinner = new javax.swing.JSpinner();
+        retainedSizeButton = new javax.swing.JButton();
+        referencesButton = new javax.swing.JButton();
         mainScrollPane = new javax.swing.JScrollPane();
         propertiesTable = new javax.swing.JTable();
+        statusLabel = new javax.swing.JLabel();
 
         setName("Form"); // NOI18N
         setLayout(new java.awt.BorderLayout());
 
+        toolsPanel.setName("toolsPanel"); // NOI18N
+        toolsPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT));
+
+        filterLabel.setText(resourceBundle.getString("filterLabel.text")); // NOI18N
+        filterLabel.setName("filterLabel"); // NOI18N
+        toolsPanel.add(filterLabel);
+
+        filterTextField.setColumns(20);
+        filterTextField.setName("filterTextField"); // NOI18N
+        toolsPanel.add(filterTextField);
+
+        jumpToIndexLabel.setText(resourceBundle.getString("jumpToIndexLabel.text")); // NOI18N
+        jumpToIndexLabel.setName("jumpToIndexLabel"); // NOI18N
+        toolsPanel.add(jumpToIndexLabel);
+
+        jumpToIndexTextField.setColumns(10);
+        jumpToIndexTextField.setName("jumpToIndexTextField"); // NOI18N
+        jumpToIndexTextField.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jumpToIndexTextFieldActionPerformed(evt);
+            }
+        });
+        toolsPanel.add(jumpToIndexTextField);
+
+        rawViewCheckBox.setText(resourceBundle.getString("rawViewCheckBox.text")); // NOI18N
+        rawViewCheckBox.setToolTipText(resourceBundle.getString("rawViewCheckBox.toolTipText")); // NOI18N
+        rawViewCheckBox.setName("rawViewCheckBox"); // NOI18N
+        rawViewCheckBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                rawViewCheckBoxItemStateChanged(evt);
+            }
+        });
+        toolsPanel.add(rawViewCheckBox);
+
+        watchCheckBox.setText(resourceBundle.getString("watchCheckBox.text")); // NOI18N
+        watchCheckBox.setToolTipText(resourceBundle.getString("watchCheckBox.toolTipText")); // NOI18N
+        watchCheckBox.setName("watchCheckBox"); // NOI18N
+        watchCheckBox.addItemListener(new java.awt.event.ItemListener() {
+            public void itemStateChanged(java.awt.event.ItemEvent evt) {
+                watchCheckBoxItemStateChanged(evt);
+            }
+        });
+        toolsPanel.add(watchCheckBox);
+
+        watchIntervalSpinner.setModel(new javax.swing.SpinnerNumberModel(500, 100, 60000, 100));
+        watchIntervalSpinner.setToolTipText(resourceBundle.getString("watchIntervalSpinner.toolTipText")); // NOI18N
+        watchIntervalSpinner.setName("watchIntervalSpinner"); // NOI18N
+        watchIntervalSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                watchIntervalSpinnerStateChanged(evt);
+            }
+        });
+        toolsPanel.add(watchIntervalSpinner);
+
+        retainedSizeButton.setText(resourceBundle.getString("retainedSizeButton.text")); // NOI18N
+        retainedSizeButton.setToolTipText(resourceBundle.getString("retainedSizeButton.toolTipText")); // NOI18N
+        retainedSizeButton.setName("retainedSizeButton"); // NOI18N
+        retainedSizeButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                retainedSizeButtonActionPerformed(evt);
+            }
+        });
+        toolsPanel.add(retainedSizeButton);
+
+        referencesButton.setText(resourceBundle.getString("referencesButton.text")); // NOI18N
+        referencesButton.setToolTipText(resourceBundle.getString("referencesButton.toolTipText")); // NOI18N
+        referencesButton.setName("referencesButton"); // NOI18N
+        referencesButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                referencesButtonActionPerformed(evt);
+            }
+        });
+        toolsPanel.add(referencesButton);
+
+        add(toolsPanel, java.awt.BorderLayout.NORTH);
+
         mainScrollPane.setName("mainScrollPane"); // NOI18N
 
         propertiesTable.setModel(tableModel);
@@ -164,10 +1248,67 @@ public class PropertyTablePanel extends javax.swing.JPanel {
         mainScrollPane.setViewportView(propertiesTable);
 
         add(mainScrollPane, java.awt.BorderLayout.CENTER);
+
+        statusLabel.setName("statusLabel"); // NOI18N
+        add(statusLabel, java.awt.BorderLayout.SOUTH);
     }// </editor-fold>//GEN-END:initComponents
 
+    private void jumpToIndexTextFieldActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jumpToIndexTextFieldActionPerformed
+        int index;
+        try {
+            index = Integer.parseInt(jumpToIndexTextField.getText().trim());
+        } catch (NumberFormatException ex) {
+            index = -1;
+        }
+
+        if (!jumpToIndex(index)) {
+            java.awt.Toolkit.getDefaultToolkit().beep();
+        }
+    }//GEN-LAST:event_jumpToIndexTextFieldActionPerformed
+
+    private void watchCheckBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_watchCheckBoxItemStateChanged
+        updateWatchTimer();
+    }//GEN-LAST:event_watchCheckBoxItemStateChanged
+
+    private void watchIntervalSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_watchIntervalSpinnerStateChanged
+        setWatchInterval((Integer) watchIntervalSpinner.getValue());
+    }//GEN-LAST:event_watchIntervalSpinnerStateChanged
+
+    private void rawViewCheckBoxItemStateChanged(java.awt.event.ItemEvent evt) {//GEN-FIRST:event_rawViewCheckBoxItemStateChanged
+        if (inspectedObject != null) {
+            setObject(inspectedObject);
+        }
+    }//GEN-LAST:event_rawViewCheckBoxItemStateChanged
+
+    private void retainedSizeButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_retainedSizeButtonActionPerformed
+        if (isEstimatingRetainedSize()) {
+            cancelRetainedSizeEstimation();
+        } else {
+            estimateRetainedSize();
+        }
+    }//GEN-LAST:event_retainedSizeButtonActionPerformed
+
+    private void referencesButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_referencesButtonActionPerformed
+        if (isSearchingReferences()) {
+            cancelReferencesSearch();
+        } else {
+            findReferences();
+        }
+    }//GEN-LAST:event_referencesButtonActionPerformed
+
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JLabel filterLabel;
+    private javax.swing.JTextField filterTextField;
+    private javax.swing.JLabel jumpToIndexLabel;
+    private javax.swing.JTextField jumpToIndexTextField;
     private javax.swing.JScrollPane mainScrollPane;
     private javax.swing.JTable propertiesTable;
+    private javax.swing.JCheckBox rawViewCheckBox;
+    private javax.swing.JButton referencesButton;
+    private javax.swing.JButton retainedSizeButton;
+    private javax.swing.JLabel statusLabel;
+    private javax.swing.JPanel toolsPanel;
+    private javax.swing.JCheckBox watchCheckBox;
+    private javax.swing.JSpinner watchIntervalSpinner;
     // End of variables declaration//GEN-END:variables
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Cache of readable JavaBeans properties per class.
+ * <p>
+ * Introspection is performed once per class and getters are bound to method
+ * handles. Getter declared in class not accessible to this module is looked
+ * up in public supertypes first and then through private lookup if package is
+ * open.
+ * <p>
+ * Getters are marked to be invoked on event dispatch thread, unless class is
+ * known to be immutable or thread-safe, as Swing and AWT objects, their
+ * models, UI delegates and most other objects can't be read from other
+ * threads safely.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BeanPropertiesCache {
+
+    private static final BeanPropertyDescriptor[] NO_PROPERTIES = new BeanPropertyDescriptor[0];
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    /**
+     * Properties which are not read because getter has side effects.
+     */
+    private static final String[] SKIPPED_PROPERTIES = {"class", "graphics"};
+    /**
+     * Immutable or thread-safe types which can be read off event dispatch
+     * thread.
+     */
+    private static final Class<?>[] THREAD_SAFE_TYPES = {
+        String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+        BigInteger.class, BigDecimal.class, Locale.class, UUID.class, java.io.File.class, java.net.URI.class, java.nio.file.Path.class
+    };
+    private static final String[] THREAD_SAFE_PACKAGES = {"java.time", "java.util.concurrent.atomic"};
+
+    private static final ClassValue<BeanPropertyDescriptor[]> PROPERTIES = new ClassValue<BeanPropertyDescriptor[]>() {
+        @Nonnull
+        @Override
+        protected BeanPropertyDescriptor[] computeValue(Class<?> type) {
+            return resolveProperties(type);
+        }
+    };
+
+    private BeanPropertiesCache() {
+    }
+
+    /**
+     * Returns readable properties of given class ordered by name.
+     *
+     * @param clazz inspected class
+     * @return property descriptors
+     */
+    @Nonnull
+    public static BeanPropertyDescriptor[] getProperties(Class<?> clazz) {
+        return PROPERTIES.get(clazz);
+    }
+
+    @Nonnull
+    private static BeanPropertyDescriptor[] resolveProperties(Class<?> clazz) {
+        if (clazz.isArray() || clazz.isPrimitive()) {
+            return NO_PROPERTIES;
+        }
+
+        BeanInfo beanInfo;
+        try {
+            beanInfo = Introspector.getBeanInfo(clazz);
+        } catch (IntrospectionException | RuntimeException ex) {
+            return NO_PROPERTIES;
+        }
+
+        boolean dispatchThreadRequired = !isThreadSafe(clazz);
+        List<BeanPropertyDescriptor> result = new ArrayList<>();
+        for (PropertyDescriptor property : beanInfo.getPropertyDescriptors()) {
+            Method readMethod = property.getReadMethod();
+            if (readMethod == null || isSkipped(property.getName())) {
+                continue;
+            }
+
+            Class<?> propertyType = property.getPropertyType();
+            String typeName = propertyType == null ? readMethod.getReturnType().getTypeName() : propertyType.getTypeName();
+            result.add(new BeanPropertyDescriptor(property.getName(), typeName, dispatchThreadRequired, resolveGetter(clazz, readMethod)));
+        }
+        return result.toArray(NO_PROPERTIES);
+    }
+
+    private static boolean isThreadSafe(Class<?> clazz) {
+        for (Class<?> type : THREAD_SAFE_TYPES) {
+            if (type.isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+
+        String packageName = clazz.getPackageName();
+        for (String threadSafePackage : THREAD_SAFE_PACKAGES) {
+            if (packageName.equals(threadSafePackage) || packageName.startsWith(threadSafePackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSkipped(String propertyName) {
+        for (String skipped : SKIPPED_PROPERTIES) {
+            if (skipped.equals(propertyName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static MethodHandle resolveGetter(Class<?> clazz, Method readMethod) {
+        MethodType methodType = MethodType.methodType(readMethod.getReturnType());
+        MethodHandle getter = findPublicGetter(clazz, readMethod.getName(), methodType);
+        if (getter == null) {
+            Class<?> declaringClass = readMethod.getDeclaringClass();
+            if (declaringClass.getModule().isOpen(declaringClass.getPackageName(), BeanPropertiesCache.class.getModule())) {
+                try {
+                    getter = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup()).unreflect(readMethod);
+                } catch (Throwable ex) {
+                    return null;
+                }
+            }
+        }
+
+        return getter == null ? null : getter.asType(GETTER_TYPE);
+    }
+
+    /**
+     * Finds getter in given class or its supertypes which are public and in
+     * exported package.
+     */
+    @Nullable
+    private static MethodHandle findPublicGetter(@Nullable Class<?> type, String name, MethodType methodType) {
+        if (type == null) {
+            return null;
+        }
+
+        if (Modifier.isPublic(type.getModifiers()) && type.getModule().isExported(type.getPackageName())) {
+            try {
+                return MethodHandles.publicLookup().findVirtual(type, name, methodType);
+            } catch (NoSuchMethodException | IllegalAccessException ex) {
+                // Continue in supertypes
+            }
+        }
+
+        MethodHandle getter = findPublicGetter(type.getSuperclass(), name, methodType);
+        if (getter != null) {
+            return getter;
+        }
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            getter = findPublicGetter(interfaceType, name, methodType);
+            if (getter != null) {
+                return getter;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import java.lang.invoke.MethodHandle;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Resolved metadata of single readable JavaBeans property.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BeanPropertyDescriptor {
+
+    private final String name;
+    private final String typeName;
+    private final boolean dispatchThreadRequired;
+    @Nullable
+    private final MethodHandle getter;
+
+    /**
+     * Creates bean property descriptor.
+     *
+     * @param name property name
+     * @param typeName property type name
+     * @param dispatchThreadRequired true if getter must be invoked on event
+     * dispatch thread
+     * @param getter getter of type (Object)Object, must be null for
+     * unreadable property
+     */
+    public BeanPropertyDescriptor(String name, String typeName, boolean dispatchThreadRequired, @Nullable MethodHandle getter) {
+        this.name = name;
+        this.typeName = typeName;
+        this.dispatchThreadRequired = dispatchThreadRequired;
+        this.getter = getter;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * Returns true if getter must be invoked on event dispatch thread.
+     *
+     * @return true for getters of AWT and Swing components
+     */
+    public boolean isDispatchThreadRequired() {
+        return dispatchThreadRequired;
+    }
+
+    /**
+     * Returns true if getter can be invoked.
+     *
+     * @return true if readable
+     */
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    /**
+     * Invokes getter on current thread.
+     *
+     * @param instance inspected instance
+     * @return property value
+     * @throws Throwable exception thrown by getter
+     */
+    @Nullable
+    public Object invoke(Object instance) throws Throwable {
+        if (getter == null) {
+            throw new IllegalStateException("Property " + name + " is not readable");
+        }
+
+        return (Object) getter.invokeExact(instance);
+    }
+}
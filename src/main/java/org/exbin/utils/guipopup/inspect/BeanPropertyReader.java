@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+
+/**
+ * Reader of bean property values with per-getter timeout.
+ * <p>
+ * Getters of objects which are not known to be thread-safe are invoked on
+ * event dispatch thread, other getters on shared pool of daemon threads.
+ * Pool grows when all its threads are busy, so getters left running after
+ * timeout don't delay later reads. Caller waits for each getter at most given
+ * timeout, so reader must not be used on event dispatch thread itself except
+ * for {@link #readOnDispatchThread(BeanPropertyDescriptor, Object)}.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BeanPropertyReader {
+
+    public static final long DEFAULT_TIMEOUT = 500;
+    private static final long THREAD_KEEP_ALIVE = 30;
+
+    private static final ExecutorService EXECUTOR;
+
+    static {
+        EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE, THREAD_KEEP_ALIVE, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "Bean property reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final long timeout;
+
+    public BeanPropertyReader() {
+        this(DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Creates reader.
+     *
+     * @param timeout timeout for single getter in milliseconds
+     */
+    public BeanPropertyReader(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Reads property value, waiting at most timeout.
+     *
+     * @param property property descriptor
+     * @param instance inspected instance
+     * @return read result
+     * @throws InterruptedException if waiting thread was interrupted
+     */
+    @Nonnull
+    public ReadResult read(BeanPropertyDescriptor property, Object instance) throws InterruptedException {
+        return submit(property, instance).get();
+    }
+
+    /**
+     * Reads property value from event dispatch thread.
+     * <p>
+     * Getters which require event dispatch thread are invoked directly, other
+     * getters are waited for at most timeout.
+     *
+     * @param property property descriptor
+     * @param instance inspected instance
+     * @return read result
+     * @throws InterruptedException if waiting thread was interrupted
+     */
+    @Nonnull
+    public ReadResult readOnDispatchThread(BeanPropertyDescriptor property, Object instance) throws InterruptedException {
+        if (!property.isReadable() || !property.isDispatchThreadRequired()) {
+            return read(property, instance);
+        }
+
+        try {
+            return new ReadResult(ReadStatus.OK, property.invoke(instance));
+        } catch (Throwable ex) {
+            return new ReadResult(ReadStatus.FAILED, ex);
+        }
+    }
+
+    /**
+     * Starts read of property value.
+     * <p>
+     * Multiple reads can be submitted first and collected later, so that slow
+     * getters run concurrently.
+     *
+     * @param property property descriptor
+     * @param instance inspected instance
+     * @return pending read
+     */
+    @Nonnull
+    public PendingRead submit(BeanPropertyDescriptor property, Object instance) {
+        if (!property.isReadable()) {
+            return new PendingRead(null);
+        }
+
+        FutureTask<Object> task = new FutureTask<>(() -> {
+            try {
+                return property.invoke(instance);
+            } catch (Exception | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new ExecutionException(ex);
+            }
+        });
+        if (property.isDispatchThreadRequired()) {
+            SwingUtilities.invokeLater(task);
+        } else {
+            EXECUTOR.execute(task);
+        }
+        return new PendingRead(task);
+    }
+
+    /**
+     * Read in progress.
+     */
+    @ParametersAreNonnullByDefault
+    public class PendingRead {
+
+        @Nullable
+        private final FutureTask<Object> task;
+
+        private PendingRead(@Nullable FutureTask<Object> task) {
+            this.task = task;
+        }
+
+        /**
+         * Waits for result at most timeout.
+         *
+         * @return read result
+         * @throws InterruptedException if waiting thread was interrupted
+         */
+        @Nonnull
+        public ReadResult get() throws InterruptedException {
+            if (task == null) {
+                return new ReadResult(ReadStatus.UNREADABLE, null);
+            }
+
+            try {
+                return new ReadResult(ReadStatus.OK, task.get(timeout, TimeUnit.MILLISECONDS));
+            } catch (TimeoutException ex) {
+                // Getter is left to finish, interrupting could break its state
+                task.cancel(false);
+                return new ReadResult(ReadStatus.TIMEOUT, null);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause() instanceof ExecutionException ? ex.getCause().getCause() : ex.getCause();
+                return new ReadResult(ReadStatus.FAILED, cause);
+            }
+        }
+
+        /**
+         * Cancels read if getter was not started yet.
+         */
+        public void cancel() {
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Status of property read.
+     */
+    public enum ReadStatus {
+        OK,
+        UNREADABLE,
+        TIMEOUT,
+        FAILED
+    }
+
+    /**
+     * Result of property read.
+     */
+    @ParametersAreNonnullByDefault
+    public static class ReadResult {
+
+        private final ReadStatus status;
+        @Nullable
+        private final Object value;
+
+        private ReadResult(ReadStatus status, @Nullable Object value) {
+            this.status = status;
+            this.value = value;
+        }
+
+        @Nonnull
+        public ReadStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * Returns value for successful read or exception thrown by getter.
+         *
+         * @return value or exception
+         */
+        @Nullable
+        public Object getValue() {
+            return value;
+        }
+    }
+}
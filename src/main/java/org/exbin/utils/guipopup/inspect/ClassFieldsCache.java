@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Cache of flattened field descriptors per class.
+ * <p>
+ * Fields are listed from given class up to its superclasses. Access to each
+ * field is classified once using module checks, so inaccessible fields are
+ * remembered without going through exceptions on every inspection.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ClassFieldsCache {
+
+    private static final FieldDescriptor[] NO_FIELDS = new FieldDescriptor[0];
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<FieldDescriptor[]> FIELDS = new ClassValue<FieldDescriptor[]>() {
+        @Nonnull
+        @Override
+        protected FieldDescriptor[] computeValue(Class<?> type) {
+            return resolveFields(type);
+        }
+    };
+
+    private ClassFieldsCache() {
+    }
+
+    /**
+     * Returns fields of given class including inherited fields.
+     * <p>
+     * Returned array is shared and must not be modified.
+     *
+     * @param clazz class
+     * @return array of field descriptors
+     */
+    @Nonnull
+    public static FieldDescriptor[] getFields(Class<?> clazz) {
+        return FIELDS.get(clazz);
+    }
+
+    @Nonnull
+    private static FieldDescriptor[] resolveFields(Class<?> clazz) {
+        if (clazz.isArray() || clazz.isPrimitive()) {
+            return NO_FIELDS;
+        }
+
+        Field[] declaredFields;
+        try {
+            declaredFields = clazz.getDeclaredFields();
+        } catch (Throwable ex) {
+            declaredFields = new Field[0];
+        }
+
+        Class<?> superclass = clazz.getSuperclass();
+        FieldDescriptor[] inheritedFields = superclass == null ? NO_FIELDS : FIELDS.get(superclass);
+        FieldDescriptor[] result = new FieldDescriptor[declaredFields.length + inheritedFields.length];
+        if (declaredFields.length > 0) {
+            ClassAccessResolver resolver = new ClassAccessResolver(clazz);
+            for (int i = 0; i < declaredFields.length; i++) {
+                result[i] = resolver.createDescriptor(declaredFields[i]);
+            }
+        }
+        System.arraycopy(inheritedFields, 0, result, declaredFields.length, inheritedFields.length);
+        return result;
+    }
+
+    /**
+     * Resolves access to fields declared in single class.
+     */
+    @ParametersAreNonnullByDefault
+    private static class ClassAccessResolver {
+
+        private final Class<?> declaringClass;
+        private final boolean exported;
+        private final boolean open;
+        private MethodHandles.Lookup privateLookup = null;
+        private boolean privateLookupResolved = false;
+
+        public ClassAccessResolver(Class<?> declaringClass) {
+            this.declaringClass = declaringClass;
+            Module module = declaringClass.getModule();
+            String packageName = declaringClass.getPackageName();
+            exported = Modifier.isPublic(declaringClass.getModifiers()) && module.isExported(packageName);
+            open = module.isOpen(packageName, ClassFieldsCache.class.getModule());
+        }
+
+        @Nonnull
+        public FieldDescriptor createDescriptor(Field field) {
+            String typeName;
+            try {
+                typeName = field.getGenericType().getTypeName();
+            } catch (Throwable ex) {
+                // Malformed or unresolvable generic signature
+                typeName = field.getType().getTypeName();
+            }
+
+            boolean staticField = Modifier.isStatic(field.getModifiers());
+            FieldAccess access = FieldAccess.UNREADABLE;
+            MethodHandle getter = null;
+            if (exported && Modifier.isPublic(field.getModifiers())) {
+                getter = adaptGetter(MethodHandles.publicLookup(), field, staticField);
+                if (getter != null) {
+                    access = FieldAccess.DIRECT;
+                }
+            }
+            if (getter == null && open) {
+                MethodHandles.Lookup lookup = getPrivateLookup();
+                if (lookup != null) {
+                    getter = adaptGetter(lookup, field, staticField);
+                    if (getter != null) {
+                        access = FieldAccess.PRIVATE_LOOKUP;
+                    }
+                }
+            }
+
+            return new FieldDescriptor(field.getName(), field.getType(), typeName, declaringClass, staticField, access, getter);
+        }
+
+        @Nullable
+        private MethodHandles.Lookup getPrivateLookup() {
+            if (!privateLookupResolved) {
+                privateLookupResolved = true;
+                try {
+                    privateLookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+                } catch (Throwable ex) {
+                    // Remembered as unavailable for whole class
+                }
+            }
+
+            return privateLookup;
+        }
+
+        @Nullable
+        private static MethodHandle adaptGetter(MethodHandles.Lookup lookup, Field field, boolean staticField) {
+            try {
+                MethodHandle getter = lookup.unreflectGetter(field);
+                if (staticField) {
+                    getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                }
+                return getter.asType(GETTER_TYPE);
+            } catch (Throwable ex) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dialog;
+import java.awt.Frame;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.AbstractButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+
+/**
+ * Search for components across component hierarchies.
+ * <p>
+ * Searched attributes are captured on event dispatch thread into flat
+ * snapshot, which is then matched in parallel on background threads.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ComponentSearch {
+
+    public static final int MAX_TEXT_LENGTH = 1024;
+    private static final int CHUNK_SIZE = 512;
+
+    private final SearchTarget target;
+    private final String query;
+    @Nullable
+    private final String clientPropertyKey;
+
+    /**
+     * Creates search.
+     * <p>
+     * For client property target, query has form "key" to find components with
+     * given client property set or "key=value" to also match its value.
+     *
+     * @param target searched attribute
+     * @param query searched text, case insensitive
+     */
+    public ComponentSearch(SearchTarget target, String query) {
+        this.target = target;
+        if (target == SearchTarget.CLIENT_PROPERTY) {
+            int separator = query.indexOf('=');
+            clientPropertyKey = separator < 0 ? query : query.substring(0, separator);
+            this.query = separator < 0 ? "" : query.substring(separator + 1).toLowerCase(Locale.ROOT);
+        } else {
+            clientPropertyKey = null;
+            this.query = query.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Nonnull
+    public SearchTarget getTarget() {
+        return target;
+    }
+
+    /**
+     * Captures searched attributes of all components in given hierarchies.
+     * <p>
+     * Must be called on event dispatch thread.
+     *
+     * @param roots root components
+     * @return snapshot
+     */
+    @Nonnull
+    public Snapshot capture(Collection<? extends Component> roots) {
+        Snapshot snapshot = new Snapshot(target);
+        Deque<Component> stack = new ArrayDeque<>();
+        for (Component root : roots) {
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Component component = stack.pop();
+                snapshot.add(component, clientPropertyKey);
+                if (component instanceof Container) {
+                    Component[] children = ((Container) component).getComponents();
+                    for (int i = children.length - 1; i >= 0; i--) {
+                        stack.push(children[i]);
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Matches all snapshot components in parallel.
+     * <p>
+     * Consumer is called from multiple threads as matches are found, in no
+     * particular order.
+     *
+     * @param snapshot captured snapshot
+     * @param consumer consumer of indexes of matching components
+     * @param cancelled cancellation check
+     */
+    public void search(Snapshot snapshot, IntConsumer consumer, BooleanSupplier cancelled) {
+        int size = snapshot.size();
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+
+            int end = Math.min(size, (chunk + 1) * CHUNK_SIZE);
+            for (int index = chunk * CHUNK_SIZE; index < end; index++) {
+                if (matches(snapshot, index)) {
+                    consumer.accept(index);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns true if component of given index matches search.
+     *
+     * @param snapshot captured snapshot
+     * @param index component index
+     * @return true if matches
+     */
+    public boolean matches(Snapshot snapshot, int index) {
+        switch (target) {
+            case CLASS_NAME:
+                return contains(snapshot.classNames[index]);
+            case NAME:
+                return contains(snapshot.names[index]);
+            case TEXT:
+                return contains(snapshot.texts[index]);
+            case CLIENT_PROPERTY:
+                return snapshot.clientProperties[index] != null && contains(snapshot.clientProperties[index]);
+            case ANY:
+                return contains(snapshot.classNames[index]) || contains(snapshot.names[index]) || contains(snapshot.texts[index]);
+            default:
+                throw new IllegalStateException("Unexpected target " + target);
+        }
+    }
+
+    private boolean contains(@Nullable String value) {
+        if (value == null) {
+            return false;
+        }
+
+        // Compare in place to avoid lowercase copy of each value
+        int queryLength = query.length();
+        int last = value.length() - queryLength;
+        for (int offset = 0; offset <= last; offset++) {
+            if (value.regionMatches(true, offset, query, 0, queryLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searched attribute.
+     */
+    public enum SearchTarget {
+        ANY,
+        CLASS_NAME,
+        NAME,
+        TEXT,
+        CLIENT_PROPERTY
+    }
+
+    /**
+     * Flat snapshot of component attributes.
+     * <p>
+     * Only attributes needed by search target are captured.
+     */
+    @ParametersAreNonnullByDefault
+    public static class Snapshot {
+
+        private final boolean captureClassNames;
+        private final boolean captureNames;
+        private final boolean captureTexts;
+        private final boolean captureClientProperties;
+        private Component[] components = new Component[1024];
+        private String[] classNames;
+        private String[] names;
+        private String[] texts;
+        private String[] clientProperties;
+        private int size = 0;
+
+        private Snapshot(SearchTarget target) {
+            captureClassNames = target == SearchTarget.ANY || target == SearchTarget.CLASS_NAME;
+            captureNames = target == SearchTarget.ANY || target == SearchTarget.NAME;
+            captureTexts = target == SearchTarget.ANY || target == SearchTarget.TEXT;
+            captureClientProperties = target == SearchTarget.CLIENT_PROPERTY;
+            classNames = new String[components.length];
+            names = new String[components.length];
+            texts = new String[components.length];
+            clientProperties = new String[components.length];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @Nonnull
+        public Component getComponent(int index) {
+            return components[index];
+        }
+
+        @Nonnull
+        public String getClassName(int index) {
+            String className = classNames[index];
+            return className != null ? className : components[index].getClass().getName();
+        }
+
+        @Nullable
+        public String getName(int index) {
+            return captureNames ? names[index] : null;
+        }
+
+        @Nullable
+        public String getText(int index) {
+            return captureTexts ? texts[index] : null;
+        }
+
+        private void add(Component component, @Nullable String clientPropertyKey) {
+            if (size == components.length) {
+                int capacity = size * 2;
+                components = Arrays.copyOf(components, capacity);
+                classNames = Arrays.copyOf(classNames, capacity);
+                names = Arrays.copyOf(names, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+                clientProperties = Arrays.copyOf(clientProperties, capacity);
+            }
+
+            components[size] = component;
+            if (captureClassNames) {
+                classNames[size] = component.getClass().getName();
+            }
+            if (captureNames) {
+                names[size] = component.getName();
+            }
+            if (captureTexts) {
+                texts[size] = getComponentText(component);
+            }
+            if (captureClientProperties && clientPropertyKey != null && component instanceof JComponent) {
+                Object value = ((JComponent) component).getClientProperty(clientPropertyKey);
+                clientProperties[size] = value == null ? null : String.valueOf(value);
+            }
+            size++;
+        }
+
+        @Nullable
+        private static String getComponentText(Component component) {
+            if (component instanceof AbstractButton) {
+                return ((AbstractButton) component).getText();
+            }
+            if (component instanceof JLabel) {
+                return ((JLabel) component).getText();
+            }
+            if (component instanceof JTextComponent) {
+                Document document = ((JTextComponent) component).getDocument();
+                if (document == null) {
+                    return null;
+                }
+                try {
+                    return document.getText(0, Math.min(document.getLength(), MAX_TEXT_LENGTH));
+                } catch (BadLocationException ex) {
+                    return null;
+                }
+            }
+            if (component instanceof Frame) {
+                return ((Frame) component).getTitle();
+            }
+            if (component instanceof Dialog) {
+                return ((Dialog) component).getTitle();
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,550 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Diff of two component hierarchy snapshots exported by
+ * {@link ComponentTreeExporter}.
+ * <p>
+ * Components are matched by path built from class, name and order among
+ * siblings of the same class and name. Both files are read in parallel and
+ * only limited window of components is kept in memory to resynchronize after
+ * added or removed components.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ComponentTreeDiff {
+
+    public static final int DEFAULT_WINDOW_SIZE = 1024;
+
+    private final DiffListener listener;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+
+    public ComponentTreeDiff(DiffListener listener) {
+        this.listener = listener;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = Math.max(1, windowSize);
+    }
+
+    /**
+     * Compares two snapshots.
+     *
+     * @param before reader of older snapshot
+     * @param after reader of newer snapshot
+     * @return number of reported differences
+     * @throws IOException if reading fails or input is not valid snapshot
+     */
+    public int diff(Reader before, Reader after) throws IOException {
+        SnapshotReader beforeReader = new SnapshotReader(before, windowSize);
+        SnapshotReader afterReader = new SnapshotReader(after, windowSize);
+        DiffCounter counter = new DiffCounter();
+
+        while (beforeReader.hasNext() && afterReader.hasNext()) {
+            ComponentRecord beforeRecord = beforeReader.peek();
+            ComponentRecord afterRecord = afterReader.peek();
+            if (beforeRecord.path.equals(afterRecord.path)) {
+                compareProperties(beforeRecord, afterRecord, counter);
+                beforeReader.next();
+                afterReader.next();
+                continue;
+            }
+
+            int afterMatch = afterReader.indexOf(beforeRecord.path);
+            int beforeMatch = beforeReader.indexOf(afterRecord.path);
+            if (afterMatch > 0 && (beforeMatch < 0 || afterMatch <= beforeMatch)) {
+                for (int i = 0; i < afterMatch; i++) {
+                    counter.added(afterReader.next());
+                }
+            } else if (beforeMatch > 0) {
+                for (int i = 0; i < beforeMatch; i++) {
+                    counter.removed(beforeReader.next());
+                }
+            } else {
+                counter.removed(beforeReader.next());
+                counter.added(afterReader.next());
+            }
+        }
+        while (beforeReader.hasNext()) {
+            counter.removed(beforeReader.next());
+        }
+        while (afterReader.hasNext()) {
+            counter.added(afterReader.next());
+        }
+
+        return counter.count;
+    }
+
+    private void compareProperties(ComponentRecord beforeRecord, ComponentRecord afterRecord, DiffCounter counter) {
+        compareMaps(beforeRecord.path, "", beforeRecord.properties, afterRecord.properties, counter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void compareMaps(String path, String prefix, Map<String, Object> beforeMap, Map<String, Object> afterMap, DiffCounter counter) {
+        for (Map.Entry<String, Object> entry : beforeMap.entrySet()) {
+            String key = entry.getKey();
+            Object beforeValue = entry.getValue();
+            Object afterValue = afterMap.get(key);
+            if (beforeValue instanceof Map && afterValue instanceof Map) {
+                compareMaps(path, prefix + key + ".", (Map<String, Object>) beforeValue, (Map<String, Object>) afterValue, counter);
+            } else if (!Objects.equals(beforeValue, afterValue)) {
+                counter.changed(path, prefix + key, beforeValue, afterValue);
+            }
+        }
+        for (Map.Entry<String, Object> entry : afterMap.entrySet()) {
+            if (!beforeMap.containsKey(entry.getKey())) {
+                counter.changed(path, prefix + entry.getKey(), null, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Command line entry point printing differences of two snapshots.
+     * <p>
+     * Exit code is 0 for equal snapshots, 1 if differences were found and 2
+     * on error.
+     *
+     * @param args paths of older and newer snapshot
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: ComponentTreeDiff <before.ndjson> <after.ndjson>");
+            System.exit(2);
+        }
+
+        PrintStream out = System.out;
+        int differences;
+        try (Reader before = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8);
+                Reader after = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+            differences = new ComponentTreeDiff(new DiffListener() {
+                @Override
+                public void componentAdded(String path) {
+                    out.println("+ " + path);
+                }
+
+                @Override
+                public void componentRemoved(String path) {
+                    out.println("- " + path);
+                }
+
+                @Override
+                public void propertyChanged(String path, String property, @Nullable Object oldValue, @Nullable Object newValue) {
+                    out.println("~ " + path + " " + property + ": " + oldValue + " -> " + newValue);
+                }
+            }).diff(before, after);
+        } catch (IOException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(2);
+            return;
+        }
+        out.flush();
+        System.exit(differences == 0 ? 0 : 1);
+    }
+
+    /**
+     * Listener for reported differences.
+     */
+    public interface DiffListener {
+
+        /**
+         * Reports added component, descendants of added component are not
+         * reported.
+         *
+         * @param path component path
+         */
+        void componentAdded(String path);
+
+        /**
+         * Reports removed component, descendants of removed component are not
+         * reported.
+         *
+         * @param path component path
+         */
+        void componentRemoved(String path);
+
+        /**
+         * Reports changed property of matched component.
+         *
+         * @param path component path
+         * @param property property name, fields are prefixed with "fields."
+         * @param oldValue old value or null if missing
+         * @param newValue new value or null if missing
+         */
+        void propertyChanged(String path, String property, @Nullable Object oldValue, @Nullable Object newValue);
+    }
+
+    /**
+     * Forwards differences to listener, suppressing descendants of added and
+     * removed components.
+     */
+    @ParametersAreNonnullByDefault
+    private class DiffCounter {
+
+        private int count = 0;
+        private String addedPrefix = null;
+        private String removedPrefix = null;
+
+        public void added(ComponentRecord record) {
+            if (addedPrefix != null && record.path.startsWith(addedPrefix)) {
+                return;
+            }
+            addedPrefix = record.path + "/";
+            count++;
+            listener.componentAdded(record.path);
+        }
+
+        public void removed(ComponentRecord record) {
+            if (removedPrefix != null && record.path.startsWith(removedPrefix)) {
+                return;
+            }
+            removedPrefix = record.path + "/";
+            count++;
+            listener.componentRemoved(record.path);
+        }
+
+        public void changed(String path, String property, @Nullable Object oldValue, @Nullable Object newValue) {
+            count++;
+            listener.propertyChanged(path, property, oldValue, newValue);
+        }
+    }
+
+    @ParametersAreNonnullByDefault
+    private static class ComponentRecord {
+
+        private final String path;
+        private final Map<String, Object> properties;
+
+        public ComponentRecord(String path, Map<String, Object> properties) {
+            this.path = path;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * Reader of snapshot records with lookahead window.
+     */
+    @ParametersAreNonnullByDefault
+    private static class SnapshotReader {
+
+        private final BufferedReader reader;
+        private final int windowSize;
+        private final Deque<ComponentRecord> window = new ArrayDeque<>();
+        private final Map<String, Integer> windowPaths = new HashMap<>();
+        private final List<String> pathStack = new ArrayList<>();
+        private final List<Map<String, Integer>> siblingCounters = new ArrayList<>();
+        private boolean endOfInput = false;
+        private int lineNumber = 0;
+
+        public SnapshotReader(Reader reader, int windowSize) throws IOException {
+            this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+            this.windowSize = windowSize;
+            readHeader();
+            fill();
+        }
+
+        public boolean hasNext() {
+            return !window.isEmpty();
+        }
+
+        @Nonnull
+        public ComponentRecord peek() {
+            return window.getFirst();
+        }
+
+        @Nonnull
+        public ComponentRecord next() throws IOException {
+            ComponentRecord record = window.removeFirst();
+            windowPaths.computeIfPresent(record.path, (key, count) -> count > 1 ? count - 1 : null);
+            fill();
+            return record;
+        }
+
+        /**
+         * Returns position of record with given path in window.
+         *
+         * @param path component path
+         * @return position or -1 if not in window
+         */
+        public int indexOf(String path) {
+            if (!windowPaths.containsKey(path)) {
+                return -1;
+            }
+
+            int index = 0;
+            Iterator<ComponentRecord> iterator = window.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().path.equals(path)) {
+                    return index;
+                }
+                index++;
+            }
+            return -1;
+        }
+
+        private void readHeader() throws IOException {
+            String line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                throw new IOException("Empty snapshot");
+            }
+            Map<String, Object> header = new JsonLineParser(line, lineNumber).parse();
+            if (!ComponentTreeExporter.FORMAT_NAME.equals(header.get("format"))) {
+                throw new IOException("Unsupported snapshot format");
+            }
+        }
+
+        private void fill() throws IOException {
+            while (!endOfInput && window.size() < windowSize) {
+                String line = reader.readLine();
+                lineNumber++;
+                if (line == null) {
+                    endOfInput = true;
+                    break;
+                }
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                ComponentRecord record = createRecord(new JsonLineParser(line, lineNumber).parse());
+                window.addLast(record);
+                windowPaths.merge(record.path, 1, Integer::sum);
+            }
+        }
+
+        @Nonnull
+        private ComponentRecord createRecord(Map<String, Object> properties) throws IOException {
+            Object depthValue = properties.remove("depth");
+            int depth;
+            try {
+                depth = Integer.parseInt(String.valueOf(depthValue));
+            } catch (NumberFormatException ex) {
+                throw new IOException("Invalid depth on line " + lineNumber);
+            }
+            if (depth < 0 || depth > pathStack.size()) {
+                throw new IOException("Invalid depth on line " + lineNumber);
+            }
+            properties.remove("id");
+            properties.remove("parent");
+
+            // Drop deeper levels of previous branch
+            while (pathStack.size() > depth) {
+                pathStack.remove(pathStack.size() - 1);
+            }
+            while (siblingCounters.size() > depth + 1) {
+                siblingCounters.remove(siblingCounters.size() - 1);
+            }
+            while (siblingCounters.size() <= depth) {
+                siblingCounters.add(new HashMap<>());
+            }
+
+            Object name = properties.get("name");
+            String segment = String.valueOf(properties.get("class")) + (name == null ? "" : "[" + name + "]");
+            int ordinal = siblingCounters.get(depth).merge(segment, 1, Integer::sum) - 1;
+            if (ordinal > 0) {
+                segment += "#" + ordinal;
+            }
+            String parentPath = depth == 0 ? "" : pathStack.get(depth - 1);
+            String path = parentPath + "/" + segment;
+            pathStack.add(path);
+            return new ComponentRecord(path, properties);
+        }
+    }
+
+    /**
+     * Minimal parser of single JSON object line as written by exporter.
+     * <p>
+     * Numbers and literals are kept as strings to compare them exactly.
+     */
+    @ParametersAreNonnullByDefault
+    private static class JsonLineParser {
+
+        private final String line;
+        private final int lineNumber;
+        private int position = 0;
+
+        public JsonLineParser(String line, int lineNumber) {
+            this.line = line;
+            this.lineNumber = lineNumber;
+        }
+
+        @Nonnull
+        public Map<String, Object> parse() throws IOException {
+            Map<String, Object> result = parseObject();
+            skipWhitespace();
+            if (position != line.length()) {
+                throw error();
+            }
+            return result;
+        }
+
+        @Nonnull
+        private Map<String, Object> parseObject() throws IOException {
+            expect('{');
+            Map<String, Object> result = new LinkedHashMap<>();
+            skipWhitespace();
+            if (peekChar() == '}') {
+                position++;
+                return result;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = parseString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                result.put(key, parseValue());
+                skipWhitespace();
+                char c = nextChar();
+                if (c == '}') {
+                    return result;
+                }
+                if (c != ',') {
+                    throw error();
+                }
+            }
+        }
+
+        @Nonnull
+        private Object parseValue() throws IOException {
+            char c = peekChar();
+            if (c == '{') {
+                return parseObject();
+            }
+            if (c == '"') {
+                return parseString();
+            }
+
+            int start = position;
+            while (position < line.length() && ",}] \t".indexOf(line.charAt(position)) < 0) {
+                position++;
+            }
+            if (start == position) {
+                throw error();
+            }
+            return line.substring(start, position);
+        }
+
+        @Nonnull
+        private String parseString() throws IOException {
+            expect('"');
+            StringBuilder builder = null;
+            int start = position;
+            while (true) {
+                char c = nextChar();
+                if (c == '"') {
+                    return builder == null ? line.substring(start, position - 1) : builder.toString();
+                }
+                if (c != '\\') {
+                    if (builder != null) {
+                        builder.append(c);
+                    }
+                    continue;
+                }
+
+                if (builder == null) {
+                    builder = new StringBuilder(line.substring(start, position - 1));
+                }
+                char escaped = nextChar();
+                switch (escaped) {
+                    case 'n':
+                        builder.append('\n');
+                        break;
+                    case 'r':
+                        builder.append('\r');
+                        break;
+                    case 't':
+                        builder.append('\t');
+                        break;
+                    case 'b':
+                        builder.append('\b');
+                        break;
+                    case 'f':
+                        builder.append('\f');
+                        break;
+                    case 'u':
+                        if (position + 4 > line.length()) {
+                            throw error();
+                        }
+                        try {
+                            builder.append((char) Integer.parseInt(line.substring(position, position + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error();
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        builder.append(escaped);
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+        }
+
+        private char peekChar() throws IOException {
+            if (position >= line.length()) {
+                throw error();
+            }
+            return line.charAt(position);
+        }
+
+        private char nextChar() throws IOException {
+            char c = peekChar();
+            position++;
+            return c;
+        }
+
+        private void expect(char expected) throws IOException {
+            if (nextChar() != expected) {
+                throw error();
+            }
+        }
+
+        @Nonnull
+        private IOException error() {
+            return new IOException("Invalid snapshot line " + lineNumber + " at column " + (position + 1));
+        }
+    }
+}
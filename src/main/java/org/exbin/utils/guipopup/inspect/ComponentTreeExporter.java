@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Window;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Exporter of component hierarchy to NDJSON file.
+ * <p>
+ * Each line is single JSON object describing one component with its class,
+ * name, bounds, visibility and values of readable instance fields of basic
+ * types. Output is streamed through fixed size buffer so memory use doesn't
+ * depend on size of hierarchy. Must be called on event dispatch thread.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ComponentTreeExporter {
+
+    public static final int BUFFER_SIZE = 64 * 1024;
+    public static final String FORMAT_NAME = "component-tree";
+    public static final int FORMAT_VERSION = 1;
+    private static final int MAX_VALUE_LENGTH = 256;
+    // Longest escaped char takes 6 bytes
+    private static final int MAX_CHAR_BYTES = 6;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final Set<String> fieldNames = new HashSet<>();
+    private boolean includeFields = true;
+    private FileChannel channel;
+
+    public ComponentTreeExporter() {
+    }
+
+    public boolean isIncludeFields() {
+        return includeFields;
+    }
+
+    public void setIncludeFields(boolean includeFields) {
+        this.includeFields = includeFields;
+    }
+
+    /**
+     * Returns all displayable windows.
+     *
+     * @return list of windows
+     */
+    @Nonnull
+    public static List<Component> getAllWindows() {
+        List<Component> windows = new ArrayList<>();
+        for (Window window : Window.getWindows()) {
+            if (window.isDisplayable()) {
+                windows.add(window);
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Exports hierarchies of given root components to file.
+     *
+     * @param file target file
+     * @param roots root components
+     * @return number of exported components
+     * @throws IOException if writing fails
+     */
+    public int export(Path file, Collection<? extends Component> roots) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel = fileChannel;
+            buffer.clear();
+            writeHeader();
+
+            int count = 0;
+            Deque<Node> stack = new ArrayDeque<>();
+            List<Component> rootsList = new ArrayList<>(roots);
+            for (int i = rootsList.size() - 1; i >= 0; i--) {
+                stack.push(new Node(rootsList.get(i), -1, 0));
+            }
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                int id = count++;
+                writeComponent(node, id);
+                if (node.component instanceof Container) {
+                    Component[] children = ((Container) node.component).getComponents();
+                    for (int i = children.length - 1; i >= 0; i--) {
+                        stack.push(new Node(children[i], id, node.depth + 1));
+                    }
+                }
+            }
+
+            flush();
+            return count;
+        } finally {
+            channel = null;
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        writeAscii("{\"format\":");
+        writeString(FORMAT_NAME);
+        writeAscii(",\"version\":");
+        writeAscii(String.valueOf(FORMAT_VERSION));
+        writeAscii(",\"time\":");
+        writeAscii(String.valueOf(System.currentTimeMillis()));
+        writeAscii("}\n");
+    }
+
+    private void writeComponent(Node node, int id) throws IOException {
+        Component component = node.component;
+        writeAscii("{\"id\":");
+        writeAscii(String.valueOf(id));
+        writeAscii(",\"parent\":");
+        writeAscii(String.valueOf(node.parentId));
+        writeAscii(",\"depth\":");
+        writeAscii(String.valueOf(node.depth));
+        writeAscii(",\"class\":");
+        writeString(component.getClass().getName());
+        String name = component.getName();
+        if (name != null) {
+            writeAscii(",\"name\":");
+            writeString(name);
+        }
+        writeAscii(",\"x\":");
+        writeAscii(String.valueOf(component.getX()));
+        writeAscii(",\"y\":");
+        writeAscii(String.valueOf(component.getY()));
+        writeAscii(",\"width\":");
+        writeAscii(String.valueOf(component.getWidth()));
+        writeAscii(",\"height\":");
+        writeAscii(String.valueOf(component.getHeight()));
+        writeAscii(",\"visible\":");
+        writeAscii(component.isVisible() ? "true" : "false");
+        writeAscii(",\"showing\":");
+        writeAscii(component.isShowing() ? "true" : "false");
+        if (includeFields) {
+            writeFields(component);
+        }
+        writeAscii("}\n");
+    }
+
+    private void writeFields(Component component) throws IOException {
+        writeAscii(",\"fields\":{");
+        fieldNames.clear();
+        boolean first = true;
+        for (FieldDescriptor field : ClassFieldsCache.getFields(component.getClass())) {
+            // Shadowed fields of superclasses are skipped
+            if (field.isStatic() || !field.isReadable() || !fieldNames.add(field.getName())) {
+                continue;
+            }
+
+            Object value = field.getValue(component);
+            if (!isBasicValue(value)) {
+                continue;
+            }
+
+            if (!first) {
+                writeAscii(",");
+            }
+            first = false;
+            writeString(field.getName());
+            writeAscii(":");
+            writeValue(value);
+        }
+        writeAscii("}");
+    }
+
+    private static boolean isBasicValue(Object value) {
+        return value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof String || value instanceof Enum;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value instanceof Boolean) {
+            writeAscii(value.toString());
+        } else if (value instanceof Number) {
+            double doubleValue = ((Number) value).doubleValue();
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                writeString(value.toString());
+            } else {
+                writeAscii(value.toString());
+            }
+        } else if (value instanceof Enum) {
+            writeString(((Enum<?>) value).name());
+        } else {
+            String text = value.toString();
+            writeString(text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) : text);
+        }
+    }
+
+    private void writeAscii(String text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put((byte) text.charAt(i));
+        }
+    }
+
+    /**
+     * Writes JSON string literal encoded as UTF-8.
+     */
+    private void writeString(String text) throws IOException {
+        if (buffer.remaining() < 1) {
+            flush();
+        }
+        buffer.put((byte) '"');
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.remaining() < MAX_CHAR_BYTES) {
+                flush();
+            }
+
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.put((byte) '\\');
+                buffer.put((byte) c);
+            } else if (c < 0x20) {
+                buffer.put((byte) '\\');
+                buffer.put((byte) 'u');
+                buffer.put((byte) '0');
+                buffer.put((byte) '0');
+                buffer.put((byte) HEX_DIGITS[c >> 4]);
+                buffer.put((byte) HEX_DIGITS[c & 0xF]);
+            } else if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        if (buffer.remaining() < 1) {
+            flush();
+        }
+        buffer.put((byte) '"');
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @ParametersAreNonnullByDefault
+    private static class Node {
+
+        private final Component component;
+        private final int parentId;
+        private final int depth;
+
+        public Node(Component component, int parentId, int depth) {
+            this.component = component;
+            this.parentId = parentId;
+            this.depth = depth;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+/**
+ * Strategy used to read field value.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+public enum FieldAccess {
+    /**
+     * Field is public and its package is exported.
+     */
+    DIRECT,
+    /**
+     * Field is read using private lookup in its declaring class.
+     */
+    PRIVATE_LOOKUP,
+    /**
+     * Field cannot be read, typically because its package is not open.
+     */
+    UNREADABLE
+}
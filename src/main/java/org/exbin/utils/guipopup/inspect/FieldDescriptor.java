@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import java.lang.invoke.MethodHandle;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Resolved metadata of single field of inspected class.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class FieldDescriptor {
+
+    private final String name;
+    private final Class<?> type;
+    private final String typeName;
+    private final Class<?> declaringClass;
+    private final boolean staticField;
+    private final FieldAccess access;
+    @Nullable
+    private final MethodHandle getter;
+
+    /**
+     * Creates field descriptor.
+     *
+     * @param name field name
+     * @param type field type
+     * @param typeName field type name
+     * @param declaringClass declaring class
+     * @param staticField true for static field
+     * @param access access strategy
+     * @param getter getter of type (Object)Object, must be null for
+     * unreadable field
+     */
+    public FieldDescriptor(String name, Class<?> type, String typeName, Class<?> declaringClass, boolean staticField, FieldAccess access, @Nullable MethodHandle getter) {
+        this.name = name;
+        this.type = type;
+        this.typeName = typeName;
+        this.declaringClass = declaringClass;
+        this.staticField = staticField;
+        this.access = access;
+        this.getter = getter;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    public Class<?> getType() {
+        return type;
+    }
+
+    @Nonnull
+    public String getTypeName() {
+        return typeName;
+    }
+
+    @Nonnull
+    public Class<?> getDeclaringClass() {
+        return declaringClass;
+    }
+
+    public boolean isStatic() {
+        return staticField;
+    }
+
+    @Nonnull
+    public FieldAccess getAccess() {
+        return access;
+    }
+
+    /**
+     * Returns true if field value can be read.
+     *
+     * @return true if readable
+     */
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    /**
+     * Reads field value.
+     *
+     * @param instance inspected instance, ignored for static fields
+     * @return field value or null if not readable
+     */
+    @Nullable
+    public Object getValue(Object instance) {
+        if (getter == null) {
+            return null;
+        }
+
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+}
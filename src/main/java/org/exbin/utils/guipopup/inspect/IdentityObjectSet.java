@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Open addressing set comparing objects by identity.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+class IdentityObjectSet {
+
+    private Object[] table = new Object[1024];
+    private int size = 0;
+
+    /**
+     * Adds object to set.
+     *
+     * @param object object
+     * @return true if object was not present
+     */
+    public boolean add(Object object) {
+        int mask = table.length - 1;
+        int index = mix(System.identityHashCode(object)) & mask;
+        while (true) {
+            Object entry = table[index];
+            if (entry == null) {
+                break;
+            }
+            if (entry == object) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        table[index] = object;
+        size++;
+        if (size * 2 > table.length) {
+            resize();
+        }
+        return true;
+    }
+
+    private void resize() {
+        Object[] oldTable = table;
+        table = new Object[oldTable.length * 2];
+        int mask = table.length - 1;
+        for (Object entry : oldTable) {
+            if (entry != null) {
+                int index = mix(System.identityHashCode(entry)) & mask;
+                while (table[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = entry;
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Finder of reference paths leading from component hierarchies to given
+ * object.
+ * <p>
+ * Object graph reachable from each root through readable instance fields and
+ * array elements is searched breadth first, so shortest paths are found first.
+ * Roots are searched in parallel, each with its own visited set and object
+ * limit. Objects held by running searches are also limited by total budget
+ * shared by all roots, which is returned when search of root finishes, so
+ * memory use doesn't grow with number of roots searched in parallel. Classes,
+ * class loaders, threads and modules are not followed.
+ * <p>
+ * Excluded objects, such as the inspector itself, are neither searched as
+ * roots nor followed.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ReferencePathFinder {
+
+    public static final int DEFAULT_MAX_OBJECTS = 1_000_000;
+    public static final int DEFAULT_MAX_TOTAL_OBJECTS = 2_000_000;
+    public static final int DEFAULT_MAX_PATHS = 10;
+
+    private static final int CHECK_INTERVAL = 4096;
+    private static final int NO_PARENT = -1;
+
+    private int maxObjectsPerRoot = DEFAULT_MAX_OBJECTS;
+    private int maxTotalObjects = DEFAULT_MAX_TOTAL_OBJECTS;
+    private int maxPathsPerRoot = DEFAULT_MAX_PATHS;
+
+    public int getMaxObjectsPerRoot() {
+        return maxObjectsPerRoot;
+    }
+
+    public void setMaxObjectsPerRoot(int maxObjectsPerRoot) {
+        this.maxObjectsPerRoot = maxObjectsPerRoot;
+    }
+
+    public int getMaxTotalObjects() {
+        return maxTotalObjects;
+    }
+
+    /**
+     * Sets maximum number of objects held by all searches running at once.
+     *
+     * @param maxTotalObjects maximum number of objects
+     */
+    public void setMaxTotalObjects(int maxTotalObjects) {
+        this.maxTotalObjects = maxTotalObjects;
+    }
+
+    public int getMaxPathsPerRoot() {
+        return maxPathsPerRoot;
+    }
+
+    public void setMaxPathsPerRoot(int maxPathsPerRoot) {
+        this.maxPathsPerRoot = maxPathsPerRoot;
+    }
+
+    /**
+     * Finds reference paths from given roots to target object.
+     *
+     * @param target searched object
+     * @param roots roots of traversal, typically all windows
+     * @param progressListener listener for progress or null, called from
+     * multiple threads
+     * @param cancelled cancellation check, polled periodically
+     * @return found paths, shortest paths of each root first
+     */
+    @Nonnull
+    public List<ReferencePath> findPaths(Object target, Collection<? extends Component> roots, @Nullable ProgressListener progressListener, BooleanSupplier cancelled) {
+        return findPaths(target, roots, Collections.emptyList(), progressListener, cancelled);
+    }
+
+    /**
+     * Finds reference paths from given roots to target object skipping
+     * excluded objects.
+     *
+     * @param target searched object
+     * @param roots roots of traversal, typically all windows
+     * @param excluded objects not to search from or through
+     * @param progressListener listener for progress or null, called from
+     * multiple threads
+     * @param cancelled cancellation check, polled periodically
+     * @return found paths, shortest paths of each root first
+     */
+    @Nonnull
+    public List<ReferencePath> findPaths(Object target, Collection<? extends Component> roots, Collection<?> excluded, @Nullable ProgressListener progressListener, BooleanSupplier cancelled) {
+        IdentityObjectSet skippedRoots = new IdentityObjectSet();
+        for (Object object : excluded) {
+            skippedRoots.add(object);
+        }
+        List<Component> searchedRoots = new ArrayList<>();
+        for (Component root : roots) {
+            if (skippedRoots.add(root)) {
+                searchedRoots.add(root);
+            }
+        }
+
+        AtomicLong visitedTotal = new AtomicLong();
+        AtomicLong budget = new AtomicLong(maxTotalObjects);
+        List<List<ReferencePath>> results = searchedRoots.parallelStream()
+                .map(root -> new RootSearch(target, root, excluded, visitedTotal, budget, progressListener, cancelled).run())
+                .collect(Collectors.toList());
+
+        List<ReferencePath> paths = new ArrayList<>();
+        for (List<ReferencePath> rootPaths : results) {
+            paths.addAll(rootPaths);
+        }
+        return paths;
+    }
+
+    private static boolean isTraversable(Object object) {
+        return !(object instanceof Class || object instanceof ClassLoader || object instanceof Thread || object instanceof Module);
+    }
+
+    /**
+     * Listener for traversal progress.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Reports progress.
+         *
+         * @param visitedObjects number of objects visited in all roots
+         */
+        void progress(long visitedObjects);
+    }
+
+    /**
+     * Path of references from root to target.
+     */
+    @ParametersAreNonnullByDefault
+    public static class ReferencePath {
+
+        private final List<Object> objects;
+        private final List<String> edges;
+
+        private ReferencePath(List<Object> objects, List<String> edges) {
+            this.objects = objects;
+            this.edges = edges;
+        }
+
+        /**
+         * Returns objects on path from root to target.
+         *
+         * @return objects, first is root, last is target
+         */
+        @Nonnull
+        public List<Object> getObjects() {
+            return objects;
+        }
+
+        /**
+         * Returns referencing object directly holding target.
+         *
+         * @return holder of target
+         */
+        @Nonnull
+        public Object getHolder() {
+            return objects.get(objects.size() - 2);
+        }
+
+        /**
+         * Returns names of references between objects, field name or array
+         * index.
+         *
+         * @return edge names, one less than objects
+         */
+        @Nonnull
+        public List<String> getEdges() {
+            return edges;
+        }
+
+        @Nonnull
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(objects.get(0).getClass().getName());
+            for (int i = 0; i < edges.size(); i++) {
+                String edge = edges.get(i);
+                if (!edge.startsWith("[")) {
+                    builder.append('.');
+                }
+                builder.append(edge);
+                if (i < edges.size() - 1) {
+                    builder.append(" (").append(objects.get(i + 1).getClass().getName()).append(')');
+                }
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Breadth first search from single root.
+     * <p>
+     * Visited objects are stored in queue order with index of parent and
+     * reference used to reach them, so paths can be reconstructed.
+     */
+    @ParametersAreNonnullByDefault
+    private class RootSearch {
+
+        private final Object target;
+        private final Object root;
+        private final Collection<?> excluded;
+        private final AtomicLong visitedTotal;
+        private final AtomicLong budget;
+        @Nullable
+        private final ProgressListener progressListener;
+        private final BooleanSupplier cancelled;
+        private final List<ReferencePath> paths = new ArrayList<>();
+
+        private IdentityObjectSet visited = new IdentityObjectSet();
+        private long reserved = 0;
+        private boolean budgetExhausted = false;
+
+        private Object[] nodes = new Object[1024];
+        private int[] parents = new int[1024];
+        private FieldDescriptor[] edgeFields = new FieldDescriptor[1024];
+        private int[] edgeIndexes = new int[1024];
+        private int size = 0;
+
+        public RootSearch(Object target, Object root, Collection<?> excluded, AtomicLong visitedTotal, AtomicLong budget, @Nullable ProgressListener progressListener, BooleanSupplier cancelled) {
+            this.target = target;
+            this.root = root;
+            this.excluded = excluded;
+            this.visitedTotal = visitedTotal;
+            this.budget = budget;
+            this.progressListener = progressListener;
+            this.cancelled = cancelled;
+        }
+
+        @Nonnull
+        public List<ReferencePath> run() {
+            if (root == target) {
+                return Collections.emptyList();
+            }
+
+            for (Object object : excluded) {
+                visited.add(object);
+            }
+            visited.add(root);
+            visited.add(target);
+            if (!reserveNode()) {
+                return Collections.emptyList();
+            }
+            add(root, NO_PARENT, null, 0);
+            for (int index = 0; index < size; index++) {
+                if (index % CHECK_INTERVAL == CHECK_INTERVAL - 1) {
+                    if (cancelled.getAsBoolean()) {
+                        break;
+                    }
+                    long total = visitedTotal.addAndGet(CHECK_INTERVAL);
+                    if (progressListener != null) {
+                        progressListener.progress(total);
+                    }
+                }
+
+                Object object = nodes[index];
+                if (object instanceof Object[]) {
+                    Object[] array = (Object[]) object;
+                    for (int i = 0; i < array.length; i++) {
+                        visitChild(array[i], index, null, i);
+                    }
+                } else {
+                    for (FieldDescriptor field : ClassFieldsCache.getFields(object.getClass())) {
+                        if (!field.isStatic() && field.isReadable() && !field.getType().isPrimitive()) {
+                            visitChild(field.getValue(object), index, field, 0);
+                        }
+                    }
+                }
+
+                if (paths.size() >= maxPathsPerRoot) {
+                    break;
+                }
+            }
+
+            // Release visited objects early and return their share of total budget
+            nodes = null;
+            edgeFields = null;
+            visited = null;
+            budget.addAndGet(size + reserved);
+            return paths;
+        }
+
+        /**
+         * Reserves space for one more node from shared budget, taking it in
+         * chunks to limit contention.
+         *
+         * @return true if node can be added
+         */
+        private boolean reserveNode() {
+            if (reserved == 0) {
+                if (budgetExhausted) {
+                    return false;
+                }
+
+                long available = budget.getAndUpdate(value -> Math.max(0, value - CHECK_INTERVAL));
+                reserved = Math.min(available, CHECK_INTERVAL);
+                if (reserved == 0) {
+                    budgetExhausted = true;
+                    return false;
+                }
+            }
+
+            reserved--;
+            return true;
+        }
+
+        private void visitChild(@Nullable Object child, int parent, @Nullable FieldDescriptor field, int arrayIndex) {
+            if (child == null || paths.size() >= maxPathsPerRoot) {
+                return;
+            }
+
+            if (child == target) {
+                paths.add(createPath(parent, getEdgeName(field, arrayIndex)));
+                return;
+            }
+
+            if (size < maxObjectsPerRoot && isTraversable(child) && reserveNode()) {
+                if (visited.add(child)) {
+                    add(child, parent, field, arrayIndex);
+                } else {
+                    reserved++;
+                }
+            }
+        }
+
+        private void add(Object object, int parent, @Nullable FieldDescriptor field, int arrayIndex) {
+            if (size == nodes.length) {
+                int capacity = Math.min(size * 2, Math.max(size + 1, maxObjectsPerRoot));
+                nodes = Arrays.copyOf(nodes, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                edgeFields = Arrays.copyOf(edgeFields, capacity);
+                edgeIndexes = Arrays.copyOf(edgeIndexes, capacity);
+            }
+            nodes[size] = object;
+            parents[size] = parent;
+            edgeFields[size] = field;
+            edgeIndexes[size] = arrayIndex;
+            size++;
+        }
+
+        @Nonnull
+        private ReferencePath createPath(int holder, String edge) {
+            List<Object> pathObjects = new ArrayList<>();
+            List<String> pathEdges = new ArrayList<>();
+            pathObjects.add(target);
+            pathEdges.add(edge);
+            int index = holder;
+            while (index != NO_PARENT) {
+                pathObjects.add(nodes[index]);
+                if (parents[index] != NO_PARENT) {
+                    pathEdges.add(getEdgeName(edgeFields[index], edgeIndexes[index]));
+                }
+                index = parents[index];
+            }
+            Collections.reverse(pathObjects);
+            Collections.reverse(pathEdges);
+            return new ReferencePath(pathObjects, pathEdges);
+        }
+
+        @Nonnull
+        private String getEdgeName(@Nullable FieldDescriptor field, int arrayIndex) {
+            return field != null ? field.getName() : "[" + arrayIndex + "]";
+        }
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.utils.guipopup.inspect;
+
+import java.awt.Component;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EventListener;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import javax.accessibility.AccessibleContext;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+import javax.swing.event.EventListenerList;
+import javax.swing.plaf.ComponentUI;
+import javax.swing.plaf.UIResource;
+
+/**
+ * Approximation of retained size of object graph.
+ * <p>
+ * Sums estimated shallow sizes of all objects reachable from root through
+ * readable instance fields and array elements. Objects which are typically
+ * shared or lead to global state are cut off and not followed:
+ * <ul>
+ * <li>classes, class loaders, modules, threads and enum constants</li>
+ * <li>AWT application context, toolkit and graphics configurations</li>
+ * <li>UI delegates and look and feel resources such as default fonts, colors
+ * and borders</li>
+ * <li>accessible contexts</li>
+ * <li>listeners and listener lists, as listeners usually belong to other
+ * objects</li>
+ * <li>for component root, components outside of its subtree, so that parent
+ * links don't pull in whole window</li>
+ * </ul>
+ * <p>
+ * Fields are read without synchronization, so graph of live components can
+ * be changing during traversal and result is only an estimate.
+ *
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class RetainedSizeEstimator {
+
+    public static final int DEFAULT_MAX_DEPTH = 256;
+    public static final int DEFAULT_MAX_OBJECTS = 2_000_000;
+
+    private static final int OBJECT_HEADER_SIZE = 12;
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int REFERENCE_SIZE = 4;
+    private static final int ALIGNMENT = 8;
+    private static final int CHECK_INTERVAL = 4096;
+    private static final String APP_CONTEXT_CLASS_NAME = "sun.awt.AppContext";
+
+    private static final ClassValue<ClassLayout> LAYOUTS = new ClassValue<ClassLayout>() {
+        @Nonnull
+        @Override
+        protected ClassLayout computeValue(Class<?> type) {
+            return new ClassLayout(type);
+        }
+    };
+
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+    private int maxObjects = DEFAULT_MAX_OBJECTS;
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public int getMaxObjects() {
+        return maxObjects;
+    }
+
+    public void setMaxObjects(int maxObjects) {
+        this.maxObjects = maxObjects;
+    }
+
+    /**
+     * Estimates retained size of given object.
+     *
+     * @param root root object
+     * @param progressListener listener for progress or null
+     * @param cancelled cancellation check, polled periodically
+     * @return estimation result, partial if cancelled or budget was exceeded
+     */
+    @Nonnull
+    public Result estimate(Object root, @Nullable ProgressListener progressListener, BooleanSupplier cancelled) {
+        Component rootComponent = root instanceof Component ? (Component) root : null;
+        IdentityObjectSet visited = new IdentityObjectSet();
+        Map<Class<?>, ClassStats> classStats = new HashMap<>();
+        Result result = new Result();
+
+        WorkStack stack = new WorkStack();
+        visited.add(root);
+        stack.push(root, 0);
+
+        while (!stack.isEmpty()) {
+            int depth = stack.peekDepth();
+            Object object = stack.pop();
+
+            Class<?> type = object.getClass();
+            ClassLayout layout = LAYOUTS.get(type);
+            long size = type.isArray() ? layout.getArraySize(object) : layout.shallowSize;
+            result.totalSize += size;
+            result.objectCount++;
+            classStats.computeIfAbsent(type, ClassStats::new).add(size);
+
+            if (result.objectCount % CHECK_INTERVAL == 0) {
+                if (cancelled.getAsBoolean()) {
+                    result.cancelled = true;
+                    break;
+                }
+                if (progressListener != null) {
+                    progressListener.progress(result.objectCount, result.totalSize);
+                }
+            }
+            if (result.objectCount >= maxObjects) {
+                result.truncated = true;
+                break;
+            }
+            if (depth >= maxDepth) {
+                result.truncated = true;
+                continue;
+            }
+
+            result.unreadableReferences += layout.unreadableReferences;
+            if (object instanceof Object[]) {
+                for (Object child : (Object[]) object) {
+                    if (child != null && !isShared(child, rootComponent) && visited.add(child)) {
+                        stack.push(child, depth + 1);
+                    }
+                }
+            } else {
+                for (FieldDescriptor field : layout.referenceFields) {
+                    Object child = field.getValue(object);
+                    if (child != null && !isShared(child, rootComponent) && visited.add(child)) {
+                        stack.push(child, depth + 1);
+                    }
+                }
+            }
+        }
+
+        result.classStats = new ArrayList<>(classStats.values());
+        result.classStats.sort((first, second) -> Long.compare(second.size, first.size));
+        return result;
+    }
+
+    private static boolean isShared(Object object, @Nullable Component rootComponent) {
+        if (object instanceof Class || object instanceof ClassLoader || object instanceof Thread || object instanceof Module || object instanceof Enum) {
+            return true;
+        }
+
+        if (object instanceof ComponentUI || object instanceof UIResource || object instanceof AccessibleContext
+                || object instanceof EventListener || object instanceof EventListenerList
+                || object instanceof Toolkit || object instanceof GraphicsConfiguration) {
+            return true;
+        }
+
+        // Not exported from java.desktop, matched by name
+        if (APP_CONTEXT_CLASS_NAME.equals(object.getClass().getName())) {
+            return true;
+        }
+
+        return rootComponent != null && object instanceof Component && !SwingUtilities.isDescendingFrom((Component) object, rootComponent);
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    private static int getPrimitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * Listener for traversal progress.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Reports progress, called periodically from traversing thread.
+         *
+         * @param objectCount number of visited objects
+         * @param totalSize estimated size of visited objects in bytes
+         */
+        void progress(long objectCount, long totalSize);
+    }
+
+    /**
+     * Result of estimation.
+     */
+    @ParametersAreNonnullByDefault
+    public static class Result {
+
+        private long totalSize = 0;
+        private long objectCount = 0;
+        private long unreadableReferences = 0;
+        private boolean truncated = false;
+        private boolean cancelled = false;
+        private List<ClassStats> classStats;
+
+        public long getTotalSize() {
+            return totalSize;
+        }
+
+        public long getObjectCount() {
+            return objectCount;
+        }
+
+        /**
+         * Returns number of reference fields which were not followed because
+         * they are not readable.
+         *
+         * @return number of skipped references
+         */
+        public long getUnreadableReferences() {
+            return unreadableReferences;
+        }
+
+        /**
+         * Returns true if depth or object budget was exceeded.
+         *
+         * @return true if truncated
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Returns statistics per class ordered by size descending.
+         *
+         * @return class statistics
+         */
+        @Nonnull
+        public List<ClassStats> getClassStats() {
+            return classStats;
+        }
+    }
+
+    /**
+     * Statistics of objects of single class.
+     */
+    @ParametersAreNonnullByDefault
+    public static class ClassStats {
+
+        private final Class<?> type;
+        private long count = 0;
+        private long size = 0;
+
+        private ClassStats(Class<?> type) {
+            this.type = type;
+        }
+
+        private void add(long objectSize) {
+            count++;
+            size += objectSize;
+        }
+
+        @Nonnull
+        public Class<?> getType() {
+            return type;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+
+    /**
+     * Cached size and readable reference fields of class.
+     */
+    @ParametersAreNonnullByDefault
+    private static class ClassLayout {
+
+        private final long shallowSize;
+        private final int elementSize;
+        private final FieldDescriptor[] referenceFields;
+        private final int unreadableReferences;
+
+        public ClassLayout(Class<?> type) {
+            if (type.isArray()) {
+                Class<?> componentType = type.getComponentType();
+                elementSize = componentType.isPrimitive() ? getPrimitiveSize(componentType) : REFERENCE_SIZE;
+                shallowSize = ARRAY_HEADER_SIZE;
+                referenceFields = new FieldDescriptor[0];
+                unreadableReferences = 0;
+                return;
+            }
+
+            elementSize = 0;
+            long fieldsSize = 0;
+            int unreadable = 0;
+            List<FieldDescriptor> references = new ArrayList<>();
+            for (FieldDescriptor field : ClassFieldsCache.getFields(type)) {
+                if (field.isStatic()) {
+                    continue;
+                }
+
+                Class<?> fieldType = field.getType();
+                if (fieldType.isPrimitive()) {
+                    fieldsSize += getPrimitiveSize(fieldType);
+                } else {
+                    fieldsSize += REFERENCE_SIZE;
+                    if (field.isReadable()) {
+                        references.add(field);
+                    } else {
+                        unreadable++;
+                    }
+                }
+            }
+            shallowSize = align(OBJECT_HEADER_SIZE + fieldsSize);
+            referenceFields = references.toArray(new FieldDescriptor[0]);
+            unreadableReferences = unreadable;
+        }
+
+        public long getArraySize(Object array) {
+            return align(ARRAY_HEADER_SIZE + (long) Array.getLength(array) * elementSize);
+        }
+    }
+
+    /**
+     * Stack of objects to visit with their depths in parallel arrays.
+     */
+    @ParametersAreNonnullByDefault
+    private static class WorkStack {
+
+        private Object[] objects = new Object[256];
+        private int[] depths = new int[256];
+        private int size = 0;
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public void push(Object object, int depth) {
+            if (size == objects.length) {
+                objects = Arrays.copyOf(objects, size * 2);
+                depths = Arrays.copyOf(depths, size * 2);
+            }
+            objects[size] = object;
+            depths[size] = depth;
+            size++;
+        }
+
+        public int peekDepth() {
+            return depths[size - 1];
+        }
+
+        @Nonnull
+        public Object pop() {
+            size--;
+            Object object = objects[size];
+            objects[size] = null;
+            return object;
+        }
+    }
+}